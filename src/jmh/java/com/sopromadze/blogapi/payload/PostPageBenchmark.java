@@ -0,0 +1,73 @@
+package com.sopromadze.blogapi.payload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes a 30 item post page the way the post listing endpoints do. Run with {@code -prof gc} and
+ * compare {@code gc.alloc.rate.norm} for the bytes allocated per response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostPageBenchmark {
+	private static final int PAGE_SIZE = 30;
+
+	private static final OutputStream DISCARD = new OutputStream() {
+		@Override
+		public void write(int b) {
+
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+
+		}
+	};
+
+	private ObjectMapper objectMapper;
+
+	private SlicedResponse<PostSummary> page;
+
+	@Setup
+	public void setUp() {
+		objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+				.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+		Instant now = Instant.now();
+		List<PostSummary> posts = new ArrayList<>(PAGE_SIZE);
+		for (long id = 1; id <= PAGE_SIZE; id++) {
+			PostSummary post = new PostSummary(id, "Title " + id, "Body " + id, 1L, "Category", 0L, 1L, now, now);
+			post.setTags(Arrays.asList("java", "spring", "jpa"));
+			posts.add(post);
+		}
+		page = new SlicedResponse<>(posts, 0, PAGE_SIZE, false);
+	}
+
+	@Benchmark
+	public void serialize() throws IOException {
+		objectMapper.writeValue(DISCARD, page);
+	}
+}
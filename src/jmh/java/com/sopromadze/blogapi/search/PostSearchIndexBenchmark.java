@@ -0,0 +1,103 @@
+package com.sopromadze.blogapi.search;
+
+import com.sopromadze.blogapi.payload.PostSummary;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranked search over a synthetic corpus whose word frequencies are skewed like natural text, so {@code w1} matches
+ * most posts while {@code w15000} matches a handful. Measures one 30 item page, as {@code /api/posts/search} asks for.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class PostSearchIndexBenchmark {
+	private static final int VOCABULARY = 20000;
+
+	private static final int BATCH = 10000;
+
+	private static final int PAGE_SIZE = 30;
+
+	@Param("1000000")
+	private int posts;
+
+	@Param({ "w1", "w500", "w15000", "w3 w700", "\"w3 w4\"" })
+	private String query;
+
+	private Path path;
+
+	private PostSearchIndex index;
+
+	@Setup
+	public void setUp() throws IOException {
+		index = new PostSearchIndex();
+		path = Files.createTempDirectory("blogapi-search");
+		index.open(FSDirectory.open(path));
+
+		Random random = new Random(42);
+		Instant now = Instant.now();
+		List<PostSummary> batch = new ArrayList<>(BATCH);
+		Map<Long, List<String>> tagNames = new HashMap<>();
+		for (long id = 1; id <= posts; id++) {
+			batch.add(new PostSummary(id, words(random, 6), words(random, 60), 1L, "Category", 0L, 1L, now, now));
+			tagNames.put(id, Arrays.asList(word(random), word(random), word(random)));
+			if (batch.size() == BATCH) {
+				index.writeBatch(batch, tagNames);
+				batch.clear();
+				tagNames.clear();
+			}
+		}
+		index.writeBatch(batch, tagNames);
+		index.mergeSegments();
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		index.close();
+		IOUtils.rm(path);
+	}
+
+	@Benchmark
+	public List<Long> search() {
+		return index.search(query, 0, PAGE_SIZE + 1);
+	}
+
+	private static String words(Random random, int count) {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			builder.append(word(random)).append(' ');
+		}
+		return builder.toString();
+	}
+
+	private static String word(Random random) {
+		return "w" + (int) (Math.pow(random.nextDouble(), 4) * VOCABULARY);
+	}
+}
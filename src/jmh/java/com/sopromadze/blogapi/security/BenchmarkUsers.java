@@ -0,0 +1,36 @@
+package com.sopromadze.blogapi.security;
+
+import com.sopromadze.blogapi.model.role.Role;
+import com.sopromadze.blogapi.model.role.RoleName;
+import com.sopromadze.blogapi.model.user.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+
+final class BenchmarkUsers {
+	static final String SECRET = "secret";
+
+	static final int EXPIRATION_IN_MS = 3600000;
+
+	private BenchmarkUsers() {
+
+	}
+
+	static User user() {
+		User user = new User("Jane", "Doe", "janedoe", "jane@example.com", "$2a$10$abcdefghijklmnopqrstuv");
+		user.setId(1L);
+		user.setRoles(Arrays.asList(new Role(RoleName.ROLE_USER), new Role(RoleName.ROLE_ADMIN)));
+		return user;
+	}
+
+	static JwtTokenProvider tokenProvider(boolean selfContained) {
+		JwtTokenProvider tokenProvider = new JwtTokenProvider();
+		ReflectionTestUtils.setField(tokenProvider, "jwtSecret", SECRET);
+		ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", EXPIRATION_IN_MS);
+		ReflectionTestUtils.setField(tokenProvider, "jwtSelfContained", selfContained);
+		ReflectionTestUtils.setField(tokenProvider, "jwtCacheTtlInMs", 300000L);
+		ReflectionTestUtils.setField(tokenProvider, "jwtCacheMaxSize", 10000L);
+		tokenProvider.init();
+		return tokenProvider;
+	}
+}
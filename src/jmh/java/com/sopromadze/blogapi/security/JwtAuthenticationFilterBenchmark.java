@@ -0,0 +1,85 @@
+package com.sopromadze.blogapi.security;
+
+import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.service.CustomUserDetailsService;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+	private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+	@Param({ "false", "true" })
+	private boolean selfContained;
+
+	private JwtAuthenticationFilter filter;
+
+	private MockHttpServletRequest request;
+
+	private MockHttpServletResponse response;
+
+	@Setup
+	public void setUp() {
+		JwtTokenProvider tokenProvider = BenchmarkUsers.tokenProvider(selfContained);
+		UserPrincipal userPrincipal = UserPrincipal.create(BenchmarkUsers.user());
+
+		CustomUserDetailsService customUserDetailsService = Mockito.mock(CustomUserDetailsService.class);
+		when(customUserDetailsService.loadUserById(anyLong())).thenReturn(userPrincipal);
+
+		UserRepository userRepository = Mockito.mock(UserRepository.class);
+		when(userRepository.findTokenVersionById(anyLong())).thenReturn(Optional.of(0L));
+
+		TokenVersionCache tokenVersionCache = new TokenVersionCache(30000L, 10000L);
+		ReflectionTestUtils.setField(tokenVersionCache, "userRepository", userRepository);
+
+		filter = new JwtAuthenticationFilter();
+		ReflectionTestUtils.setField(filter, "tokenProvider", tokenProvider);
+		ReflectionTestUtils.setField(filter, "customUserDetailsService", customUserDetailsService);
+		ReflectionTestUtils.setField(filter, "userPrincipalCache", new UserPrincipalCache(300000L, 10000L));
+		ReflectionTestUtils.setField(filter, "tokenVersionCache", tokenVersionCache);
+
+		Authentication authentication = new UsernamePasswordAuthenticationToken(userPrincipal, null,
+				userPrincipal.getAuthorities());
+		request = new MockHttpServletRequest("GET", "/api/users/me");
+		request.addHeader("Authorization", "Bearer " + tokenProvider.generateToken(authentication));
+		response = new MockHttpServletResponse();
+	}
+
+	@Benchmark
+	public Authentication doFilterInternal() throws ServletException, IOException {
+		filter.doFilterInternal(request, response, NO_OP_CHAIN);
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		SecurityContextHolder.clearContext();
+		return authentication;
+	}
+}
@@ -0,0 +1,64 @@
+package com.sopromadze.blogapi.security;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+	@Param({ "false", "true" })
+	private boolean selfContained;
+
+	private JwtTokenProvider tokenProvider;
+
+	private Authentication authentication;
+
+	private String token;
+
+	@Setup
+	public void setUp() {
+		tokenProvider = BenchmarkUsers.tokenProvider(selfContained);
+
+		UserPrincipal userPrincipal = UserPrincipal.create(BenchmarkUsers.user());
+		authentication = new UsernamePasswordAuthenticationToken(userPrincipal, null, userPrincipal.getAuthorities());
+		token = tokenProvider.generateToken(authentication);
+	}
+
+	@Benchmark
+	public String generateToken() {
+		return tokenProvider.generateToken(authentication);
+	}
+
+	@Benchmark
+	public Claims verifyTokenCached() {
+		return tokenProvider.verifyToken(token);
+	}
+
+	@Benchmark
+	public Claims verifyTokenUncached() {
+		return tokenProvider.parseClaims(token);
+	}
+
+	@Benchmark
+	public Long getUserIdFromToken() {
+		return Long.valueOf(tokenProvider.parseClaims(token).getSubject());
+	}
+}
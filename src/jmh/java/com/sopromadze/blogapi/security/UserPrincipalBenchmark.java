@@ -0,0 +1,45 @@
+package com.sopromadze.blogapi.security;
+
+import com.sopromadze.blogapi.model.user.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserPrincipalBenchmark {
+	private User user;
+
+	private UserPrincipal principal;
+
+	@Setup
+	public void setUp() {
+		user = BenchmarkUsers.user();
+		principal = UserPrincipal.create(user);
+	}
+
+	@Benchmark
+	public UserPrincipal create() {
+		return UserPrincipal.create(user);
+	}
+
+	@Benchmark
+	public Collection<? extends GrantedAuthority> authorities() {
+		return principal.getAuthorities();
+	}
+}
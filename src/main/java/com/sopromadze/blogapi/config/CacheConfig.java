@@ -0,0 +1,21 @@
+package com.sopromadze.blogapi.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caches are declared in {@code spring.cache} so that actuator binds their statistics to the
+ * {@code cache.gets} and {@code cache.evictions} meters at startup. Cached entities are shared between requests, so
+ * updates load their own copy through {@code findUncachedById} instead of modifying the cached one.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+	public static final String CATEGORIES = "categories";
+
+	public static final String CATEGORY_PAGES = "categoryPages";
+
+	public static final String TAGS = "tags";
+
+	public static final String TAG_PAGES = "tagPages";
+}
@@ -0,0 +1,30 @@
+package com.sopromadze.blogapi.config;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.mvc.WebContentInterceptor;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Applies the configured {@link CacheControlProperties.Policy policies} to reads only, so that a write to a cacheable
+ * path never comes back with a {@code public, max-age} response.
+ */
+public class CacheControlInterceptor extends WebContentInterceptor {
+
+	public CacheControlInterceptor(CacheControlProperties properties) {
+		for (CacheControlProperties.Policy policy : properties.getPolicies()) {
+			addCacheMapping(policy.toCacheControl(), policy.getPaths().toArray(new String[0]));
+		}
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+			throws ServletException {
+		if (HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())) {
+			return super.preHandle(request, response, handler);
+		}
+		return true;
+	}
+}
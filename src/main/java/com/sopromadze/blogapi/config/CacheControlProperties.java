@@ -0,0 +1,44 @@
+package com.sopromadze.blogapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.CacheControl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code Cache-Control} policies bound from {@code app.cacheControl}, matched against the request path with Ant
+ * patterns. GETs that match no policy keep the {@code no-cache} default of {@link ConditionalGetFilter}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache-control")
+public class CacheControlProperties {
+	private List<Policy> policies = new ArrayList<>();
+
+	@Data
+	public static class Policy {
+		private List<String> paths = new ArrayList<>();
+		private long maxAgeInSeconds;
+		private Long sharedMaxAgeInSeconds;
+		private boolean cachePrivate;
+		private boolean noCache;
+		private boolean noStore;
+
+		public CacheControl toCacheControl() {
+			if (noStore) {
+				return CacheControl.noStore().cachePrivate();
+			}
+			if (noCache) {
+				return cachePrivate ? CacheControl.noCache().cachePrivate() : CacheControl.noCache();
+			}
+
+			CacheControl cacheControl = CacheControl.maxAge(maxAgeInSeconds, TimeUnit.SECONDS);
+			if (sharedMaxAgeInSeconds != null) {
+				cacheControl = cacheControl.sMaxAge(sharedMaxAgeInSeconds, TimeUnit.SECONDS);
+			}
+			return cachePrivate ? cacheControl.cachePrivate() : cacheControl.cachePublic();
+		}
+	}
+}
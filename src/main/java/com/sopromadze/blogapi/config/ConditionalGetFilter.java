@@ -0,0 +1,37 @@
+package com.sopromadze.blogapi.config;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Gives listings an ETag hashed from the rendered body, so revalidating clients get a 304 without the payload.
+ * Responses whose controller already set an ETag from {@code updatedAt} are left alone, and GETs are marked
+ * {@code no-cache} (store, but revalidate) instead of Spring Security's default {@code no-store}.
+ */
+public class ConditionalGetFilter extends ShallowEtagHeaderFilter {
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		if (HttpMethod.GET.matches(request.getMethod())) {
+			response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+		}
+		super.doFilterInternal(request, response, filterChain);
+	}
+
+	@Override
+	protected boolean isEligibleForEtag(HttpServletRequest request, HttpServletResponse response, int responseStatusCode,
+			InputStream inputStream) {
+		return response.getHeader(HttpHeaders.ETAG) == null
+				&& super.isEligibleForEtag(request, response, responseStatusCode, inputStream);
+	}
+}
@@ -0,0 +1,31 @@
+package com.sopromadze.blogapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Builds the Hikari pool from {@code spring.datasource} (URL and credentials) and {@code app.datasource}
+ * (sizing and timeouts). Actuator binds the {@code hikaricp.connections.*} meters to it by pool name.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourcePoolProperties.class)
+public class DataSourceConfig {
+	public static final String POOL_NAME = "blogapi";
+
+	@Bean
+	public HikariDataSource dataSource(DataSourceProperties dataSourceProperties, DataSourcePoolProperties poolProperties) {
+		HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class)
+				.build();
+		dataSource.setPoolName(POOL_NAME);
+		dataSource.setMaximumPoolSize(poolProperties.getMaximumPoolSize());
+		dataSource.setMinimumIdle(poolProperties.getMinimumIdle());
+		dataSource.setConnectionTimeout(poolProperties.getConnectionTimeoutInMs());
+		dataSource.setIdleTimeout(poolProperties.getIdleTimeoutInMs());
+		dataSource.setMaxLifetime(poolProperties.getMaxLifetimeInMs());
+		dataSource.setLeakDetectionThreshold(poolProperties.getLeakDetectionThresholdInMs());
+		return dataSource;
+	}
+}
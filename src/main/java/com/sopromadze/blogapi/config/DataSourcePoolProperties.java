@@ -0,0 +1,37 @@
+package com.sopromadze.blogapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Pool settings bound from {@code app.datasource}. Anything left unset falls back to a size derived from
+ * the number of cores, following the HikariCP sizing formula {@code cores * 2 + effectiveSpindleCount}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource")
+public class DataSourcePoolProperties {
+	private Integer maximumPoolSize;
+	private Integer minimumIdle;
+	private int effectiveSpindleCount = 1;
+	private long connectionTimeoutInMs = 5000;
+	private long idleTimeoutInMs = 600000;
+	private long maxLifetimeInMs = 1800000;
+	private long leakDetectionThresholdInMs;
+
+	public int getMaximumPoolSize() {
+		if (maximumPoolSize != null) {
+			return maximumPoolSize;
+		}
+		return Runtime.getRuntime().availableProcessors() * 2 + effectiveSpindleCount;
+	}
+
+	/**
+	 * Defaults to the maximum, which keeps the pool at a fixed size as HikariCP recommends.
+	 */
+	public int getMinimumIdle() {
+		if (minimumIdle != null) {
+			return minimumIdle;
+		}
+		return getMaximumPoolSize();
+	}
+}
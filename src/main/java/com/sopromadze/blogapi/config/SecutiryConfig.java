@@ -1,12 +1,16 @@
 package com.sopromadze.blogapi.config;
 
 import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.security.BoundedPasswordEncoder;
 import com.sopromadze.blogapi.security.JwtAuthenticationEntryPoint;
 import com.sopromadze.blogapi.security.JwtAuthenticationFilter;
 import com.sopromadze.blogapi.service.impl.CustomUserDetailsServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.BeanIds;
@@ -17,7 +21,6 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
@@ -30,13 +33,16 @@ public class SecutiryConfig extends WebSecurityConfigurerAdapter {
 	private final CustomUserDetailsServiceImpl customUserDetailsService;
 	private final JwtAuthenticationEntryPoint unauthorizedHandler;
 	private final JwtAuthenticationFilter jwtAuthenticationFilter;
+	private final BoundedPasswordEncoder passwordEncoder;
 
 	@Autowired
 	public SecutiryConfig(UserRepository userRepository, CustomUserDetailsServiceImpl customUserDetailsService,
-			JwtAuthenticationEntryPoint unauthorizedHandler, JwtAuthenticationFilter jwtAuthenticationFilter) {
+			JwtAuthenticationEntryPoint unauthorizedHandler, JwtAuthenticationFilter jwtAuthenticationFilter,
+			BoundedPasswordEncoder passwordEncoder) {
 		this.customUserDetailsService = customUserDetailsService;
 		this.unauthorizedHandler = unauthorizedHandler;
 		this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+		this.passwordEncoder = passwordEncoder;
 	}
 
 	@Override
@@ -61,7 +67,7 @@ public class SecutiryConfig extends WebSecurityConfigurerAdapter {
 
 	public void configure(AuthenticationManagerBuilder authenticationManagerBuilder) throws Exception {
 		authenticationManagerBuilder.userDetailsService(customUserDetailsService)
-				.passwordEncoder(passwordEncoder());
+				.passwordEncoder(passwordEncoder);
 	}
 
 	@Bean(BeanIds.AUTHENTICATION_MANAGER)
@@ -69,8 +75,62 @@ public class SecutiryConfig extends WebSecurityConfigurerAdapter {
 		return super.authenticationManagerBean();
 	}
 
-	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	/**
+	 * Actuator endpoints other than health are for admins, signed in with their token, and for a scraper
+	 * that sends the HTTP Basic credential under {@code app.actuatorUsername}, if one is configured.
+	 */
+	@Configuration
+	@Order(1)
+	public static class ActuatorSecurityConfig extends WebSecurityConfigurerAdapter {
+		private final JwtAuthenticationEntryPoint unauthorizedHandler;
+		private final JwtAuthenticationFilter jwtAuthenticationFilter;
+		private final String username;
+		private final String passwordHash;
+
+		@Autowired
+		public ActuatorSecurityConfig(JwtAuthenticationEntryPoint unauthorizedHandler,
+				JwtAuthenticationFilter jwtAuthenticationFilter, @Value("${app.actuatorUsername:}") String username,
+				@Value("${app.actuatorPasswordHash:}") String passwordHash) {
+			this.unauthorizedHandler = unauthorizedHandler;
+			this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+			this.username = username;
+			this.passwordHash = passwordHash;
+		}
+
+		@Override
+		protected void configure(HttpSecurity http) throws Exception {
+
+			http.requestMatcher(EndpointRequest.toAnyEndpoint())
+					.csrf().disable()
+					.exceptionHandling()
+					.authenticationEntryPoint(unauthorizedHandler)
+					.and()
+					.sessionManagement()
+					.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+					.and()
+					.authorizeRequests()
+					.requestMatchers(EndpointRequest.to("health")).permitAll()
+					.anyRequest().hasAnyRole("ADMIN", "ACTUATOR");
+
+			if (isScrapeUserConfigured()) {
+				http.httpBasic().authenticationEntryPoint(unauthorizedHandler);
+			}
+			http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+
+		}
+
+		@Override
+		protected void configure(AuthenticationManagerBuilder authenticationManagerBuilder) throws Exception {
+			if (isScrapeUserConfigured()) {
+				// Checked on the request thread, not on the sign-in hashing threads, so scrapes go on while those are full
+				authenticationManagerBuilder.inMemoryAuthentication()
+						.passwordEncoder(new BCryptPasswordEncoder())
+						.withUser(username).password(passwordHash).roles("ACTUATOR");
+			}
+		}
+
+		private boolean isScrapeUserConfigured() {
+			return !username.isEmpty() && !passwordHash.isEmpty();
+		}
 	}
 }
@@ -1,23 +1,61 @@
 package com.sopromadze.blogapi.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerExceptionResolver;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 @Configuration
+@EnableConfigurationProperties(CacheControlProperties.class)
 public class WebMvcConfig implements WebMvcConfigurer {
 
 	@Value("cors.allowedOrings")
 	private String allowedOrigins;
 
+	@Autowired
+	private CacheControlProperties cacheControlProperties;
+
 	public void addCorsMappings(CorsRegistry registry) {
 		final long MAX_AGE_SECS = 3600;
 
 		registry.addMapping("/**")
 				.allowedOrigins(allowedOrigins)
-				.allowedMethods("GET", "POST", "PUT", "DELETE")
+				.allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE")
 				.allowedHeaders("*")
+				.exposedHeaders(HttpHeaders.ETAG)
 				.maxAge(MAX_AGE_SECS);
 	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(new CacheControlInterceptor(cacheControlProperties)).addPathPatterns("/api/**");
+	}
+
+	/**
+	 * Runs ahead of the other resolvers so that an error never goes out with the cache policy of the path it hit.
+	 */
+	@Override
+	public void extendHandlerExceptionResolvers(List<HandlerExceptionResolver> resolvers) {
+		resolvers.add(0, (request, response, handler, exception) -> {
+			response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+			return null;
+		});
+	}
+
+	@Bean
+	public FilterRegistrationBean<ConditionalGetFilter> conditionalGetFilter() {
+		FilterRegistrationBean<ConditionalGetFilter> registration = new FilterRegistrationBean<>(new ConditionalGetFilter());
+		registration.addUrlPatterns("/api/*");
+		return registration;
+	}
 }
@@ -4,8 +4,9 @@ import com.sopromadze.blogapi.exception.ResponseEntityErrorException;
 import com.sopromadze.blogapi.model.Album;
 import com.sopromadze.blogapi.payload.AlbumResponse;
 import com.sopromadze.blogapi.payload.ApiResponse;
-import com.sopromadze.blogapi.payload.PagedResponse;
 import com.sopromadze.blogapi.payload.PhotoResponse;
+import com.sopromadze.blogapi.payload.ResourceVersion;
+import com.sopromadze.blogapi.payload.SlicedResponse;
 import com.sopromadze.blogapi.payload.request.AlbumRequest;
 import com.sopromadze.blogapi.security.CurrentUser;
 import com.sopromadze.blogapi.security.UserPrincipal;
@@ -27,6 +28,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 
@@ -45,12 +47,13 @@ public class AlbumController {
 	}
 
 	@GetMapping
-	public PagedResponse<AlbumResponse> getAllAlbums(
+	public SlicedResponse<AlbumResponse> getAllAlbums(
 			@RequestParam(name = "page", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer page,
-			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size) {
+			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size,
+			@RequestParam(name = "withTotal", required = false, defaultValue = AppConstants.DEFAULT_WITH_TOTAL) Boolean withTotal) {
 		AppUtils.validatePageNumberAndSize(page, size);
 
-		return albumService.getAllAlbums(page, size);
+		return albumService.getAllAlbums(page, size, withTotal);
 	}
 
 	@PostMapping
@@ -60,7 +63,12 @@ public class AlbumController {
 	}
 
 	@GetMapping("/{id}")
-	public ResponseEntity<Album> getAlbum(@PathVariable(name = "id") Long id) {
+	public ResponseEntity<Album> getAlbum(@PathVariable(name = "id") Long id, WebRequest request) {
+		ResourceVersion version = albumService.getAlbumVersion(id);
+		if (request.checkNotModified(version.getETag(id), version.getLastModified().toEpochMilli())) {
+			return null;
+		}
+
 		return albumService.getAlbum(id);
 	}
 
@@ -78,11 +86,12 @@ public class AlbumController {
 	}
 
 	@GetMapping("/{id}/photos")
-	public ResponseEntity<PagedResponse<PhotoResponse>> getAllPhotosByAlbum(@PathVariable(name = "id") Long id,
+	public ResponseEntity<SlicedResponse<PhotoResponse>> getAllPhotosByAlbum(@PathVariable(name = "id") Long id,
 			@RequestParam(name = "page", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer page,
-			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size) {
+			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size,
+			@RequestParam(name = "withTotal", required = false, defaultValue = AppConstants.DEFAULT_WITH_TOTAL) Boolean withTotal) {
 
-		PagedResponse<PhotoResponse> response = photoService.getAllPhotosByAlbum(id, page, size);
+		SlicedResponse<PhotoResponse> response = photoService.getAllPhotosByAlbum(id, page, size, withTotal);
 
 		return new ResponseEntity<>(response, HttpStatus.OK);
 	}
@@ -3,7 +3,8 @@ package com.sopromadze.blogapi.controller;
 import com.sopromadze.blogapi.exception.UnauthorizedException;
 import com.sopromadze.blogapi.model.Category;
 import com.sopromadze.blogapi.payload.ApiResponse;
-import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.ResourceVersion;
+import com.sopromadze.blogapi.payload.SlicedResponse;
 import com.sopromadze.blogapi.security.CurrentUser;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import com.sopromadze.blogapi.service.CategoryService;
@@ -20,6 +21,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 
@@ -30,10 +32,11 @@ public class CategoryController {
 	private CategoryService categoryService;
 
 	@GetMapping
-	public PagedResponse<Category> getAllCategories(
+	public SlicedResponse<Category> getAllCategories(
 			@RequestParam(name = "page", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer page,
-			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size) {
-		return categoryService.getAllCategories(page, size);
+			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size,
+			@RequestParam(name = "withTotal", required = false, defaultValue = AppConstants.DEFAULT_WITH_TOTAL) Boolean withTotal) {
+		return categoryService.getAllCategories(page, size, withTotal);
 	}
 
 	@PostMapping
@@ -45,8 +48,15 @@ public class CategoryController {
 	}
 
 	@GetMapping("/{id}")
-	public ResponseEntity<Category> getCategory(@PathVariable(name = "id") Long id) {
-		return categoryService.getCategory(id);
+	public ResponseEntity<Category> getCategory(@PathVariable(name = "id") Long id, WebRequest request) {
+		ResponseEntity<Category> response = categoryService.getCategory(id);
+
+		ResourceVersion version = new ResourceVersion(response.getBody().getUpdatedAt());
+		if (request.checkNotModified(version.getETag(id), version.getLastModified().toEpochMilli())) {
+			return null;
+		}
+
+		return response;
 	}
 
 	@PutMapping("/{id}")
@@ -2,8 +2,11 @@ package com.sopromadze.blogapi.controller;
 
 import com.sopromadze.blogapi.model.Comment;
 import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.BatchIdsRequest;
+import com.sopromadze.blogapi.payload.BatchRequest;
+import com.sopromadze.blogapi.payload.BatchResponse;
 import com.sopromadze.blogapi.payload.CommentRequest;
-import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.SlicedResponse;
 import com.sopromadze.blogapi.security.CurrentUser;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import com.sopromadze.blogapi.service.CommentService;
@@ -31,11 +34,12 @@ public class CommentController {
 	private CommentService commentService;
 
 	@GetMapping
-	public ResponseEntity<PagedResponse<Comment>> getAllComments(@PathVariable(name = "postId") Long postId,
+	public ResponseEntity<SlicedResponse<Comment>> getAllComments(@PathVariable(name = "postId") Long postId,
 			@RequestParam(name = "page", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer page,
-			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size) {
+			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size,
+			@RequestParam(name = "withTotal", required = false, defaultValue = AppConstants.DEFAULT_FEED_WITH_TOTAL) Boolean withTotal) {
 
-		PagedResponse<Comment> allComments = commentService.getAllComments(postId, page, size);
+		SlicedResponse<Comment> allComments = commentService.getAllComments(postId, page, size, withTotal);
 
 		return new ResponseEntity< >(allComments, HttpStatus.OK);
 	}
@@ -80,4 +84,22 @@ public class CommentController {
 		return new ResponseEntity<>(response, status);
 	}
 
+	@PostMapping("/batch")
+	@PreAuthorize("hasRole('USER')")
+	public ResponseEntity<BatchResponse<Comment>> addComments(
+			@Valid @RequestBody BatchRequest<CommentRequest> batchRequest,
+			@PathVariable(name = "postId") Long postId, @CurrentUser UserPrincipal currentUser) {
+		BatchResponse<Comment> batchResponse = commentService.addComments(batchRequest.getItems(), postId, currentUser);
+
+		return new ResponseEntity<>(batchResponse, HttpStatus.OK);
+	}
+
+	@DeleteMapping("/batch")
+	@PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+	public ResponseEntity<BatchResponse<Comment>> deleteComments(@PathVariable(name = "postId") Long postId,
+			@Valid @RequestBody BatchIdsRequest batchIdsRequest, @CurrentUser UserPrincipal currentUser) {
+		BatchResponse<Comment> batchResponse = commentService.deleteComments(postId, batchIdsRequest.getIds(), currentUser);
+
+		return new ResponseEntity<>(batchResponse, HttpStatus.OK);
+	}
 }
@@ -1,12 +1,16 @@
 package com.sopromadze.blogapi.controller;
 
 import com.sopromadze.blogapi.payload.ApiResponse;
-import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.BatchIdsRequest;
+import com.sopromadze.blogapi.payload.BatchRequest;
+import com.sopromadze.blogapi.payload.BatchResponse;
 import com.sopromadze.blogapi.payload.PhotoRequest;
 import com.sopromadze.blogapi.payload.PhotoResponse;
+import com.sopromadze.blogapi.payload.SlicedResponse;
 import com.sopromadze.blogapi.security.CurrentUser;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import com.sopromadze.blogapi.service.PhotoService;
+import com.sopromadze.blogapi.service.ViewCountService;
 import com.sopromadze.blogapi.utils.AppConstants;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -30,11 +34,15 @@ public class PhotoController {
 	@Autowired
 	private PhotoService photoService;
 
+	@Autowired
+	private ViewCountService viewCountService;
+
 	@GetMapping
-	public PagedResponse<PhotoResponse> getAllPhotos(
+	public SlicedResponse<PhotoResponse> getAllPhotos(
 			@RequestParam(name = "page", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer page,
-			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size) {
-		return photoService.getAllPhotos(page, size);
+			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size,
+			@RequestParam(name = "withTotal", required = false, defaultValue = AppConstants.DEFAULT_WITH_TOTAL) Boolean withTotal) {
+		return photoService.getAllPhotos(page, size, withTotal);
 	}
 
 	@PostMapping
@@ -49,6 +57,7 @@ public class PhotoController {
 	@GetMapping("/{id}")
 	public ResponseEntity<PhotoResponse> getPhoto(@PathVariable(name = "id") Long id) {
 		PhotoResponse photoResponse = photoService.getPhoto(id);
+		viewCountService.recordPhotoView(id);
 
 		return new ResponseEntity< >(photoResponse, HttpStatus.OK);
 	}
@@ -70,4 +79,22 @@ public class PhotoController {
 
 		return new ResponseEntity< >(apiResponse, HttpStatus.OK);
 	}
+
+	@PostMapping("/batch")
+	@PreAuthorize("hasRole('USER')")
+	public ResponseEntity<BatchResponse<PhotoResponse>> addPhotos(
+			@Valid @RequestBody BatchRequest<PhotoRequest> batchRequest, @CurrentUser UserPrincipal currentUser) {
+		BatchResponse<PhotoResponse> batchResponse = photoService.addPhotos(batchRequest.getItems(), currentUser);
+
+		return new ResponseEntity< >(batchResponse, HttpStatus.OK);
+	}
+
+	@DeleteMapping("/batch")
+	@PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+	public ResponseEntity<BatchResponse<PhotoResponse>> deletePhotos(
+			@Valid @RequestBody BatchIdsRequest batchIdsRequest, @CurrentUser UserPrincipal currentUser) {
+		BatchResponse<PhotoResponse> batchResponse = photoService.deletePhotos(batchIdsRequest.getIds(), currentUser);
+
+		return new ResponseEntity< >(batchResponse, HttpStatus.OK);
+	}
 }
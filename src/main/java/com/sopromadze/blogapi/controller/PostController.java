@@ -2,12 +2,16 @@ package com.sopromadze.blogapi.controller;
 
 import com.sopromadze.blogapi.model.Post;
 import com.sopromadze.blogapi.payload.ApiResponse;
-import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.CursorPagedResponse;
 import com.sopromadze.blogapi.payload.PostRequest;
 import com.sopromadze.blogapi.payload.PostResponse;
+import com.sopromadze.blogapi.payload.PostSummary;
+import com.sopromadze.blogapi.payload.ResourceVersion;
+import com.sopromadze.blogapi.payload.SlicedResponse;
 import com.sopromadze.blogapi.security.CurrentUser;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import com.sopromadze.blogapi.service.PostService;
+import com.sopromadze.blogapi.service.ViewCountService;
 import com.sopromadze.blogapi.utils.AppConstants;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -22,8 +26,10 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/posts")
@@ -31,31 +37,91 @@ public class PostController {
 	@Autowired
 	private PostService postService;
 
+	@Autowired
+	private ViewCountService viewCountService;
+
 	@GetMapping
-	public ResponseEntity<PagedResponse<Post>> getAllPosts(
+	public ResponseEntity<SlicedResponse<PostSummary>> getAllPosts(
 			@RequestParam(value = "page", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer page,
+			@RequestParam(value = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size,
+			@RequestParam(value = "withTotal", required = false, defaultValue = AppConstants.DEFAULT_FEED_WITH_TOTAL) Boolean withTotal) {
+		SlicedResponse<PostSummary> response = postService.getAllPosts(page, size, withTotal);
+
+		return new ResponseEntity< >(response, HttpStatus.OK);
+	}
+
+	@GetMapping(params = "after")
+	public ResponseEntity<CursorPagedResponse<PostSummary>> getAllPostsAfter(
+			@RequestParam(value = "after") String after,
 			@RequestParam(value = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size) {
-		PagedResponse<Post> response = postService.getAllPosts(page, size);
+		CursorPagedResponse<PostSummary> response = postService.getAllPosts(after, size);
 
 		return new ResponseEntity< >(response, HttpStatus.OK);
 	}
 
 	@GetMapping("/category/{id}")
-	public ResponseEntity<PagedResponse<Post>> getPostsByCategory(
+	public ResponseEntity<SlicedResponse<PostSummary>> getPostsByCategory(
 			@RequestParam(value = "page", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer page,
 			@RequestParam(value = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size,
+			@RequestParam(value = "withTotal", required = false, defaultValue = AppConstants.DEFAULT_FEED_WITH_TOTAL) Boolean withTotal,
+			@PathVariable(name = "id") Long id) {
+		SlicedResponse<PostSummary> response = postService.getPostsByCategory(id, page, size, withTotal);
+
+		return new ResponseEntity< >(response, HttpStatus.OK);
+	}
+
+	@GetMapping(value = "/category/{id}", params = "after")
+	public ResponseEntity<CursorPagedResponse<PostSummary>> getPostsByCategoryAfter(
+			@RequestParam(value = "after") String after,
+			@RequestParam(value = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size,
 			@PathVariable(name = "id") Long id) {
-		PagedResponse<Post> response = postService.getPostsByCategory(id, page, size);
+		CursorPagedResponse<PostSummary> response = postService.getPostsByCategory(id, after, size);
 
 		return new ResponseEntity< >(response, HttpStatus.OK);
 	}
 
 	@GetMapping("/tag/{id}")
-	public ResponseEntity<PagedResponse<Post>> getPostsByTag(
+	public ResponseEntity<SlicedResponse<PostSummary>> getPostsByTag(
 			@RequestParam(value = "page", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer page,
 			@RequestParam(value = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size,
+			@RequestParam(value = "withTotal", required = false, defaultValue = AppConstants.DEFAULT_FEED_WITH_TOTAL) Boolean withTotal,
+			@PathVariable(name = "id") Long id) {
+		SlicedResponse<PostSummary> response = postService.getPostsByTag(id, page, size, withTotal);
+
+		return new ResponseEntity< >(response, HttpStatus.OK);
+	}
+
+	@GetMapping(value = "/tag/{id}", params = "after")
+	public ResponseEntity<CursorPagedResponse<PostSummary>> getPostsByTagAfter(
+			@RequestParam(value = "after") String after,
+			@RequestParam(value = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size,
 			@PathVariable(name = "id") Long id) {
-		PagedResponse<Post> response = postService.getPostsByTag(id, page, size);
+		CursorPagedResponse<PostSummary> response = postService.getPostsByTag(id, after, size);
+
+		return new ResponseEntity< >(response, HttpStatus.OK);
+	}
+
+	@GetMapping("/search")
+	public ResponseEntity<SlicedResponse<PostSummary>> searchPosts(@RequestParam(value = "q") String query,
+			@RequestParam(value = "page", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer page,
+			@RequestParam(value = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size) {
+		SlicedResponse<PostSummary> response = postService.searchPosts(query, page, size);
+
+		return new ResponseEntity< >(response, HttpStatus.OK);
+	}
+
+	@GetMapping("/mostViewed")
+	public ResponseEntity<List<PostSummary>> getMostViewedPosts(
+			@RequestParam(value = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size) {
+		List<PostSummary> response = postService.getMostViewedPosts(size);
+
+		return new ResponseEntity< >(response, HttpStatus.OK);
+	}
+
+	@GetMapping("/trending")
+	public ResponseEntity<List<PostSummary>> getTrendingPosts(
+			@RequestParam(value = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size) {
+		List<PostSummary> response = postService.getTrendingPosts(size);
 
 		return new ResponseEntity< >(response, HttpStatus.OK);
 	}
@@ -70,7 +136,13 @@ public class PostController {
 	}
 
 	@GetMapping("/{id}")
-	public ResponseEntity<Post> getPost(@PathVariable(name = "id") Long id) {
+	public ResponseEntity<Post> getPost(@PathVariable(name = "id") Long id, WebRequest request) {
+		ResourceVersion version = postService.getPostVersion(id);
+		viewCountService.recordPostView(id);
+		if (request.checkNotModified(version.getETag(id), version.getLastModified().toEpochMilli())) {
+			return null;
+		}
+
 		Post post = postService.getPost(id);
 
 		return new ResponseEntity< >(post, HttpStatus.OK);
@@ -2,7 +2,8 @@ package com.sopromadze.blogapi.controller;
 
 import com.sopromadze.blogapi.model.Tag;
 import com.sopromadze.blogapi.payload.ApiResponse;
-import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.ResourceVersion;
+import com.sopromadze.blogapi.payload.SlicedResponse;
 import com.sopromadze.blogapi.security.CurrentUser;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import com.sopromadze.blogapi.service.TagService;
@@ -20,6 +21,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 
@@ -30,11 +32,12 @@ public class TagController {
 	private TagService tagService;
 
 	@GetMapping
-	public ResponseEntity<PagedResponse<Tag>> getAllTags(
+	public ResponseEntity<SlicedResponse<Tag>> getAllTags(
 			@RequestParam(name = "page", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer page,
-			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size) {
+			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size,
+			@RequestParam(name = "withTotal", required = false, defaultValue = AppConstants.DEFAULT_WITH_TOTAL) Boolean withTotal) {
 
-		PagedResponse<Tag> response = tagService.getAllTags(page, size);
+		SlicedResponse<Tag> response = tagService.getAllTags(page, size, withTotal);
 
 		return new ResponseEntity< >(response, HttpStatus.OK);
 	}
@@ -48,9 +51,14 @@ public class TagController {
 	}
 
 	@GetMapping("/{id}")
-	public ResponseEntity<Tag> getTag(@PathVariable(name = "id") Long id) {
+	public ResponseEntity<Tag> getTag(@PathVariable(name = "id") Long id, WebRequest request) {
 		Tag tag = tagService.getTag(id);
 
+		ResourceVersion version = new ResourceVersion(tag.getUpdatedAt());
+		if (request.checkNotModified(version.getETag(id), version.getLastModified().toEpochMilli())) {
+			return null;
+		}
+
 		return new ResponseEntity< >(tag, HttpStatus.OK);
 	}
 
@@ -2,7 +2,10 @@ package com.sopromadze.blogapi.controller;
 
 import com.sopromadze.blogapi.model.Todo;
 import com.sopromadze.blogapi.payload.ApiResponse;
-import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.BatchIdsRequest;
+import com.sopromadze.blogapi.payload.BatchRequest;
+import com.sopromadze.blogapi.payload.BatchResponse;
+import com.sopromadze.blogapi.payload.SlicedResponse;
 import com.sopromadze.blogapi.security.CurrentUser;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import com.sopromadze.blogapi.service.TodoService;
@@ -14,6 +17,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -32,12 +36,13 @@ public class TodoController {
 
 	@GetMapping
 	@PreAuthorize("hasRole('USER')")
-	public ResponseEntity<PagedResponse<Todo>> getAllTodos(
+	public ResponseEntity<SlicedResponse<Todo>> getAllTodos(
 			@CurrentUser UserPrincipal currentUser,
 			@RequestParam(value = "page", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer page,
-			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size) {
+			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size,
+			@RequestParam(name = "withTotal", required = false, defaultValue = AppConstants.DEFAULT_WITH_TOTAL) Boolean withTotal) {
 
-		PagedResponse<Todo> response = todoService.getAllTodos(currentUser, page, size);
+		SlicedResponse<Todo> response = todoService.getAllTodos(currentUser, page, size, withTotal);
 
 		return new ResponseEntity< >(response, HttpStatus.OK);
 	}
@@ -92,4 +97,49 @@ public class TodoController {
 
 		return new ResponseEntity< >(todo, HttpStatus.OK);
 	}
+
+	@PostMapping("/batch")
+	@PreAuthorize("hasRole('USER')")
+	public ResponseEntity<BatchResponse<Todo>> addTodos(@Valid @RequestBody BatchRequest<Todo> batchRequest,
+			@CurrentUser UserPrincipal currentUser) {
+		BatchResponse<Todo> batchResponse = todoService.addTodos(batchRequest.getItems(), currentUser);
+
+		return new ResponseEntity< >(batchResponse, HttpStatus.OK);
+	}
+
+	@PutMapping("/batch")
+	@PreAuthorize("hasRole('USER')")
+	public ResponseEntity<BatchResponse<Todo>> updateTodos(@Valid @RequestBody BatchRequest<Todo> batchRequest,
+			@CurrentUser UserPrincipal currentUser) {
+		BatchResponse<Todo> batchResponse = todoService.updateTodos(batchRequest.getItems(), currentUser);
+
+		return new ResponseEntity< >(batchResponse, HttpStatus.OK);
+	}
+
+	@PatchMapping("/batch/complete")
+	@PreAuthorize("hasRole('USER')")
+	public ResponseEntity<BatchResponse<Todo>> completeTodos(@Valid @RequestBody BatchIdsRequest batchIdsRequest,
+			@CurrentUser UserPrincipal currentUser) {
+		BatchResponse<Todo> batchResponse = todoService.setTodosCompleted(batchIdsRequest.getIds(), Boolean.TRUE, currentUser);
+
+		return new ResponseEntity< >(batchResponse, HttpStatus.OK);
+	}
+
+	@PatchMapping("/batch/unComplete")
+	@PreAuthorize("hasRole('USER')")
+	public ResponseEntity<BatchResponse<Todo>> unCompleteTodos(@Valid @RequestBody BatchIdsRequest batchIdsRequest,
+			@CurrentUser UserPrincipal currentUser) {
+		BatchResponse<Todo> batchResponse = todoService.setTodosCompleted(batchIdsRequest.getIds(), Boolean.FALSE, currentUser);
+
+		return new ResponseEntity< >(batchResponse, HttpStatus.OK);
+	}
+
+	@DeleteMapping("/batch")
+	@PreAuthorize("hasRole('USER')")
+	public ResponseEntity<BatchResponse<Todo>> deleteTodos(@Valid @RequestBody BatchIdsRequest batchIdsRequest,
+			@CurrentUser UserPrincipal currentUser) {
+		BatchResponse<Todo> batchResponse = todoService.deleteTodos(batchIdsRequest.getIds(), currentUser);
+
+		return new ResponseEntity< >(batchResponse, HttpStatus.OK);
+	}
 }
@@ -1,11 +1,12 @@
 package com.sopromadze.blogapi.controller;
 
 import com.sopromadze.blogapi.model.Album;
-import com.sopromadze.blogapi.model.Post;
 import com.sopromadze.blogapi.model.user.User;
 import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.CursorPagedResponse;
 import com.sopromadze.blogapi.payload.InfoRequest;
-import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.PostSummary;
+import com.sopromadze.blogapi.payload.SlicedResponse;
 import com.sopromadze.blogapi.payload.UserIdentityAvailability;
 import com.sopromadze.blogapi.payload.UserProfile;
 import com.sopromadze.blogapi.payload.UserSummary;
@@ -72,20 +73,31 @@ public class UserController {
 	}
 
 	@GetMapping("/{username}/posts")
-	public ResponseEntity<PagedResponse<Post>> getPostsCreatedBy(@PathVariable(value = "username") String username,
+	public ResponseEntity<SlicedResponse<PostSummary>> getPostsCreatedBy(@PathVariable(value = "username") String username,
 			@RequestParam(value = "page", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer page,
+			@RequestParam(value = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size,
+			@RequestParam(value = "withTotal", required = false, defaultValue = AppConstants.DEFAULT_FEED_WITH_TOTAL) Boolean withTotal) {
+		SlicedResponse<PostSummary> response = postService.getPostsByCreatedBy(username, page, size, withTotal);
+
+		return new ResponseEntity<  >(response, HttpStatus.OK);
+	}
+
+	@GetMapping(value = "/{username}/posts", params = "after")
+	public ResponseEntity<CursorPagedResponse<PostSummary>> getPostsCreatedByAfter(@PathVariable(value = "username") String username,
+			@RequestParam(value = "after") String after,
 			@RequestParam(value = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size) {
-		PagedResponse<Post> response = postService.getPostsByCreatedBy(username, page, size);
+		CursorPagedResponse<PostSummary> response = postService.getPostsByCreatedBy(username, after, size);
 
 		return new ResponseEntity<  >(response, HttpStatus.OK);
 	}
 
 	@GetMapping("/{username}/albums")
-	public ResponseEntity<PagedResponse<Album>> getUserAlbums(@PathVariable(name = "username") String username,
+	public ResponseEntity<SlicedResponse<Album>> getUserAlbums(@PathVariable(name = "username") String username,
 			@RequestParam(name = "page", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer page,
-			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size) {
+			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size,
+			@RequestParam(name = "withTotal", required = false, defaultValue = AppConstants.DEFAULT_WITH_TOTAL) Boolean withTotal) {
 
-		PagedResponse<Album> response = albumService.getUserAlbums(username, page, size);
+		SlicedResponse<Album> response = albumService.getUserAlbums(username, page, size, withTotal);
 
 		return new ResponseEntity<  >(response, HttpStatus.OK);
 	}
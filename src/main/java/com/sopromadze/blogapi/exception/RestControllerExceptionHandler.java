@@ -2,6 +2,7 @@ package com.sopromadze.blogapi.exception;
 
 import com.sopromadze.blogapi.payload.ApiResponse;
 import com.sopromadze.blogapi.payload.ExceptionResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -67,6 +68,14 @@ public class RestControllerExceptionHandler {
 		return new ResponseEntity< >(apiResponse, HttpStatus.FORBIDDEN);
 	}
 
+	@ExceptionHandler(ServiceUnavailableException.class)
+	@ResponseBody
+	public ResponseEntity<ApiResponse> resolveException(ServiceUnavailableException exception) {
+		ApiResponse apiResponse = exception.getApiResponse();
+
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(apiResponse);
+	}
+
 	@ExceptionHandler({ MethodArgumentNotValidException.class })
 	@ResponseBody
 	@ResponseStatus(HttpStatus.BAD_REQUEST)
@@ -0,0 +1,21 @@
+package com.sopromadze.blogapi.exception;
+
+import com.sopromadze.blogapi.payload.ApiResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(code = HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceUnavailableException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	private final transient ApiResponse apiResponse;
+
+	public ServiceUnavailableException(String message) {
+		super(message);
+		this.apiResponse = new ApiResponse(Boolean.FALSE, message);
+	}
+
+	public ApiResponse getApiResponse() {
+		return apiResponse;
+	}
+}
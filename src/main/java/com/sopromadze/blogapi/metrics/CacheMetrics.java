@@ -0,0 +1,21 @@
+package com.sopromadze.blogapi.metrics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Registers a standalone Caffeine cache with the same tag keys actuator puts on the Spring caches. Prometheus
+ * rejects meters that share a name ({@code cache_gets}, {@code cache_size}, ...) but not their tag keys.
+ */
+public final class CacheMetrics {
+	private static final String CACHE_MANAGER = "standalone";
+
+	private CacheMetrics() {
+
+	}
+
+	public static void monitor(MeterRegistry registry, Cache<?, ?> cache, String cacheName) {
+		CaffeineCacheMetrics.monitor(registry, cache, cacheName, "cacheManager", CACHE_MANAGER, "name", cacheName);
+	}
+}
@@ -0,0 +1,70 @@
+package com.sopromadze.blogapi.metrics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code /actuator/pool}: a single snapshot of the connection pool, so it can be sized against measured load
+ * without querying each {@code hikaricp.connections.*} meter separately.
+ */
+@Component
+@Endpoint(id = "pool")
+public class ConnectionPoolEndpoint {
+	private static final String ACQUIRE_TIMER = "hikaricp.connections.acquire";
+
+	@Autowired
+	private HikariDataSource dataSource;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@ReadOperation
+	public PoolSnapshot pool() {
+		HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+		Timer acquire = meterRegistry.find(ACQUIRE_TIMER).tag("pool", dataSource.getPoolName()).timer();
+
+		PoolSnapshot snapshot = new PoolSnapshot();
+		snapshot.setMaximumPoolSize(dataSource.getMaximumPoolSize());
+		snapshot.setMinimumIdle(dataSource.getMinimumIdle());
+		if (pool != null) {
+			snapshot.setActive(pool.getActiveConnections());
+			snapshot.setIdle(pool.getIdleConnections());
+			snapshot.setTotal(pool.getTotalConnections());
+			snapshot.setPending(pool.getThreadsAwaitingConnection());
+		}
+		if (acquire != null) {
+			snapshot.setWait(new WaitTime(acquire.count(), acquire.mean(TimeUnit.MILLISECONDS),
+					acquire.max(TimeUnit.MILLISECONDS)));
+		}
+		return snapshot;
+	}
+
+	@Data
+	public static class PoolSnapshot {
+		private int maximumPoolSize;
+		private int minimumIdle;
+		private int active;
+		private int idle;
+		private int total;
+		private int pending;
+		private WaitTime wait;
+	}
+
+	@Data
+	@AllArgsConstructor
+	public static class WaitTime {
+		private long count;
+		private double meanInMs;
+		private double maxInMs;
+	}
+}
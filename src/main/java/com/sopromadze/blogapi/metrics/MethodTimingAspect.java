@@ -0,0 +1,72 @@
+package com.sopromadze.blogapi.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every controller and repository method. Percentiles for the {@code blogapi.*} timers are configured
+ * under {@code management.metrics.distribution}.
+ */
+@Aspect
+@Component
+public class MethodTimingAspect {
+	public static final String CONTROLLER_TIMER = "blogapi.controller";
+
+	public static final String REPOSITORY_TIMER = "blogapi.repository";
+
+	private static final String REPOSITORY_PACKAGE = "com.sopromadze.blogapi.repository";
+
+	private static final String NONE = "none";
+
+	private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Around("within(com.sopromadze.blogapi.controller..*)")
+	public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+		return time(joinPoint, CONTROLLER_TIMER, "controller", joinPoint.getSignature().getDeclaringType().getSimpleName());
+	}
+
+	@Around("execution(* com.sopromadze.blogapi.repository.*Repository+.*(..))")
+	public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+		return time(joinPoint, REPOSITORY_TIMER, "repository", repositoryName(joinPoint.getTarget().getClass()));
+	}
+
+	private Object time(ProceedingJoinPoint joinPoint, String name, String typeTag, String type) throws Throwable {
+		Timer.Sample sample = Timer.start(meterRegistry);
+		String exception = NONE;
+		try {
+			return joinPoint.proceed();
+		} catch (Throwable ex) {
+			exception = ex.getClass().getSimpleName();
+			throw ex;
+		} finally {
+			sample.stop(meterRegistry.timer(name, typeTag, type, "method", joinPoint.getSignature().getName(),
+					"exception", exception));
+		}
+	}
+
+	/**
+	 * Inherited methods such as {@code findById} are declared on Spring Data interfaces, so the tag is taken
+	 * from the application interface the repository proxy implements.
+	 */
+	private String repositoryName(Class<?> proxyClass) {
+		return repositoryNames.computeIfAbsent(proxyClass, type -> {
+			for (Class<?> candidate : type.getInterfaces()) {
+				if (candidate.getName().startsWith(REPOSITORY_PACKAGE)) {
+					return candidate.getSimpleName();
+				}
+			}
+			return type.getSimpleName();
+		});
+	}
+}
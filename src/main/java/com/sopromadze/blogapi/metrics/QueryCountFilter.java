@@ -0,0 +1,77 @@
+package com.sopromadze.blogapi.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Counts the statements each request sends, records them in {@code blogapi.http.queries} per route and warns
+ * when a request goes over {@code app.queryCountWarnThreshold}, which usually means an N+1 select. With
+ * {@code app.queryCountHeader} the count is also returned as {@code X-Query-Count}; that buffers the response
+ * body, so keep it off in production.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryCountFilter extends OncePerRequestFilter {
+	public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(QueryCountFilter.class);
+
+	private static final String QUERIES_SUMMARY = "blogapi.http.queries";
+
+	private static final String UNKNOWN_URI = "UNKNOWN";
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${app.queryCountWarnThreshold:10}")
+	private int warnThreshold;
+
+	@Value("${app.queryCountHeader:false}")
+	private boolean header;
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		ContentCachingResponseWrapper bufferedResponse = header ? new ContentCachingResponseWrapper(response) : null;
+		int count;
+		QueryCounter.start();
+		try {
+			filterChain.doFilter(request, bufferedResponse == null ? response : bufferedResponse);
+		} finally {
+			count = QueryCounter.stop();
+		}
+
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		String uri = pattern == null ? UNKNOWN_URI : pattern.toString();
+		DistributionSummary.builder(QUERIES_SUMMARY)
+				.baseUnit("statements")
+				.tag("method", request.getMethod())
+				.tag("uri", uri)
+				.register(meterRegistry)
+				.record(count);
+		if (count > warnThreshold) {
+			LOGGER.warn("{} {} sent {} SQL statements (threshold {})", request.getMethod(), uri, count, warnThreshold);
+		}
+
+		if (bufferedResponse != null) {
+			bufferedResponse.setHeader(QUERY_COUNT_HEADER, Integer.toString(count));
+			bufferedResponse.copyBodyToResponse();
+		}
+	}
+}
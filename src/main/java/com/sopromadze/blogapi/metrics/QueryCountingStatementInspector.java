@@ -0,0 +1,17 @@
+package com.sopromadze.blogapi.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Registered through {@code hibernate.session_factory.statement_inspector}. Hibernate instantiates it itself, so
+ * it only talks to the thread-bound {@link QueryCounter}.
+ */
+public class QueryCountingStatementInspector implements StatementInspector {
+	private static final long serialVersionUID = 1L;
+
+	@Override
+	public String inspect(String sql) {
+		QueryCounter.increment();
+		return sql;
+	}
+}
@@ -19,7 +19,6 @@ import javax.persistence.OneToMany;
 import javax.persistence.Table;
 import javax.persistence.UniqueConstraint;
 import javax.validation.constraints.NotBlank;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -51,7 +50,7 @@ public class Album extends UserDateAudit {
 	}
 
 	public List<Photo> getPhoto() {
-		return this.photo == null ? null : new ArrayList<>(this.photo);
+		return this.photo == null ? null : Collections.unmodifiableList(this.photo);
 	}
 
 	public void setPhoto(List<Photo> photo) {
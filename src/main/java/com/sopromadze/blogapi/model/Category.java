@@ -1,6 +1,7 @@
 package com.sopromadze.blogapi.model;
 
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import com.sopromadze.blogapi.model.audit.UserDateAudit;
 import lombok.Data;
@@ -15,7 +16,6 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -35,6 +35,7 @@ public class Category extends UserDateAudit {
 	@Column(name = "name")
 	private String name;
 
+	@JsonIgnore
 	@OneToMany(mappedBy = "category", cascade = CascadeType.ALL, orphanRemoval = true)
 	private List<Post> posts;
 
@@ -44,7 +45,7 @@ public class Category extends UserDateAudit {
 	}
 
 	public List<Post> getPosts() {
-		return this.posts == null ? null : new ArrayList<>(this.posts);
+		return this.posts == null ? null : Collections.unmodifiableList(this.posts);
 	}
 
 	public void setPosts(List<Post> posts) {
@@ -16,10 +16,14 @@ import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
 import javax.validation.constraints.Email;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Size;
 
+import static com.sopromadze.blogapi.utils.AppConstants.ID_ALLOCATION_SIZE;
+import static com.sopromadze.blogapi.utils.AppConstants.ID_GENERATORS;
+
 @EqualsAndHashCode(callSuper = true)
 @Entity
 @Data
@@ -29,7 +33,8 @@ public class Comment extends UserDateAudit {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "comment_id")
+    @TableGenerator(name = "comment_id", table = ID_GENERATORS, pkColumnValue = "comments", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "name")
@@ -15,9 +15,13 @@ import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
 import javax.persistence.UniqueConstraint;
 import javax.validation.constraints.NotBlank;
 
+import static com.sopromadze.blogapi.utils.AppConstants.ID_ALLOCATION_SIZE;
+import static com.sopromadze.blogapi.utils.AppConstants.ID_GENERATORS;
+
 @EqualsAndHashCode(callSuper = true)
 @Entity
 @Data
@@ -27,7 +31,8 @@ public class Photo extends UserDateAudit {
 	private static final long serialVersionUID = 1L;
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "photo_id")
+	@TableGenerator(name = "photo_id", table = ID_GENERATORS, pkColumnValue = "photos", allocationSize = ID_ALLOCATION_SIZE)
 	private Long id;
 
 	@NotBlank
@@ -46,6 +51,12 @@ public class Photo extends UserDateAudit {
 	@JoinColumn(name = "album_id")
 	private Album album;
 
+	/**
+	 * Only written by {@code ViewCountServiceImpl}.
+	 */
+	@Column(name = "views", nullable = false, insertable = false, updatable = false)
+	private Long views = 0L;
+
 	public Photo(@NotBlank String title, @NotBlank String url, @NotBlank String thumbnailUrl, Album album) {
 		this.title = title;
 		this.url = url;
@@ -21,11 +21,14 @@ import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
 import javax.persistence.UniqueConstraint;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import static com.sopromadze.blogapi.utils.AppConstants.ID_ALLOCATION_SIZE;
+import static com.sopromadze.blogapi.utils.AppConstants.ID_GENERATORS;
+
 @EqualsAndHashCode(callSuper = true)
 @Entity
 @Data
@@ -35,7 +38,8 @@ public class Post extends UserDateAudit {
 	private static final long serialVersionUID = 1L;
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "post_id")
+	@TableGenerator(name = "post_id", table = ID_GENERATORS, pkColumnValue = "posts", allocationSize = ID_ALLOCATION_SIZE)
 	private Long id;
 
 	@Column(name = "title")
@@ -44,6 +48,19 @@ public class Post extends UserDateAudit {
 	@Column(name = "body")
 	private String body;
 
+	/**
+	 * Only written by {@code PostRepository.addToCommentCount}, so saving a stale entity never overwrites it.
+	 */
+	@JsonIgnore
+	@Column(name = "comment_count", nullable = false, insertable = false, updatable = false)
+	private Long commentCount = 0L;
+
+	/**
+	 * Only written by {@code ViewCountServiceImpl}.
+	 */
+	@Column(name = "views", nullable = false, insertable = false, updatable = false)
+	private Long views = 0L;
+
 	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "user_id")
 	private User user;
@@ -70,7 +87,7 @@ public class Post extends UserDateAudit {
 	}
 
 	public List<Comment> getComments() {
-		return comments == null ? null : new ArrayList<>(comments);
+		return comments == null ? null : Collections.unmodifiableList(comments);
 	}
 
 	public void setComments(List<Comment> comments) {
@@ -82,7 +99,7 @@ public class Post extends UserDateAudit {
 	}
 
 	public List<Tag> getTags() {
-		return tags == null ? null : new ArrayList<>(tags);
+		return tags == null ? null : Collections.unmodifiableList(tags);
 	}
 
 	public void setTags(List<Tag> tags) {
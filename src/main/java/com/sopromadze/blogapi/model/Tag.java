@@ -17,39 +17,56 @@ import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.Table;
-import java.util.ArrayList;
+import javax.persistence.TableGenerator;
+import javax.persistence.UniqueConstraint;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+
+import static com.sopromadze.blogapi.utils.AppConstants.ID_ALLOCATION_SIZE;
+import static com.sopromadze.blogapi.utils.AppConstants.ID_GENERATORS;
 
 @EqualsAndHashCode(callSuper = true)
 @Entity
 @Data
 @NoArgsConstructor
-@Table(name = "tags")
+@Table(name = "tags", uniqueConstraints = { @UniqueConstraint(columnNames = { "name" }) })
 //@JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
 public class Tag extends UserDateAudit {
 
 	private static final long serialVersionUID = -5298707266367331514L;
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "tag_id")
+	@TableGenerator(name = "tag_id", table = ID_GENERATORS, pkColumnValue = "tags", allocationSize = ID_ALLOCATION_SIZE)
 	private Long id;
 
 	@Column(name = "name")
 	private String name;
 
 	@JsonIgnore
-	@ManyToMany(fetch = FetchType.EAGER)
+	@ManyToMany(fetch = FetchType.LAZY)
 	@JoinTable(name = "post_tag", joinColumns = @JoinColumn(name = "tag_id", referencedColumnName = "id"), inverseJoinColumns = @JoinColumn(name = "post_id", referencedColumnName = "id"))
 	private List<Post> posts;
 
 	public Tag(String name) {
 		super();
-		this.name = name;
+		this.name = normalizeName(name);
+	}
+
+	/**
+	 * Tag names are stored trimmed and lower-cased, so that lookups and the unique key agree on what a duplicate is.
+	 */
+	public static String normalizeName(String name) {
+		return name == null ? null : name.trim().toLowerCase(Locale.ROOT);
+	}
+
+	public void setName(String name) {
+		this.name = normalizeName(name);
 	}
 
 	public List<Post> getPosts() {
-		return posts == null ? null : new ArrayList<>(posts);
+		return posts == null ? null : Collections.unmodifiableList(posts);
 	}
 
 	public void setPosts(List<Post> posts) {
@@ -15,9 +15,13 @@ import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
 import javax.persistence.UniqueConstraint;
 import javax.validation.constraints.NotBlank;
 
+import static com.sopromadze.blogapi.utils.AppConstants.ID_ALLOCATION_SIZE;
+import static com.sopromadze.blogapi.utils.AppConstants.ID_GENERATORS;
+
 @EqualsAndHashCode(callSuper = true)
 @Entity
 @Data
@@ -27,7 +31,8 @@ public class Todo extends UserDateAudit {
 	private static final long serialVersionUID = 1L;
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "todo_id")
+	@TableGenerator(name = "todo_id", table = ID_GENERATORS, pkColumnValue = "todos", allocationSize = ID_ALLOCATION_SIZE)
 	private Long id;
 
 	@NotBlank
@@ -30,7 +30,6 @@ import javax.persistence.UniqueConstraint;
 import javax.validation.constraints.Email;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Size;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -86,6 +85,17 @@ public class User extends DateAudit {
 	@Column(name = "website")
 	private String website;
 
+	@JsonIgnore
+	@Column(name = "token_version", nullable = false)
+	private Long tokenVersion = 0L;
+
+	/**
+	 * Only written by {@code UserRepository.addToPostCount}, so saving a stale entity never overwrites it.
+	 */
+	@JsonIgnore
+	@Column(name = "post_count", nullable = false, insertable = false, updatable = false)
+	private Long postCount = 0L;
+
 	@ManyToMany(fetch = FetchType.EAGER)
 	@JoinTable(name = "user_role", joinColumns = @JoinColumn(name = "user_id", referencedColumnName = "id"), inverseJoinColumns = @JoinColumn(name = "role_id", referencedColumnName = "id"))
 	private List<Role> roles;
@@ -122,7 +132,7 @@ public class User extends DateAudit {
 
 	public List<Todo> getTodos() {
 
-		return todos == null ? null : new ArrayList<>(todos);
+		return todos == null ? null : Collections.unmodifiableList(todos);
 	}
 
 	public void setTodos(List<Todo> todos) {
@@ -136,7 +146,7 @@ public class User extends DateAudit {
 
 	public List<Album> getAlbums() {
 
-		return albums == null ? null : new ArrayList<>(albums);
+		return albums == null ? null : Collections.unmodifiableList(albums);
 	}
 
 	public void setAlbums(List<Album> albums) {
@@ -151,7 +161,7 @@ public class User extends DateAudit {
 
 	public List<Post> getPosts() {
 
-		return posts == null ? null : new ArrayList<>(posts);
+		return posts == null ? null : Collections.unmodifiableList(posts);
 	}
 
 	public void setPosts(List<Post> posts) {
@@ -165,7 +175,7 @@ public class User extends DateAudit {
 
 	public List<Role> getRoles() {
 
-		return roles == null ? null : new ArrayList<>(roles);
+		return roles == null ? null : Collections.unmodifiableList(roles);
 	}
 
 	public void setRoles(List<Role> roles) {
@@ -178,7 +188,7 @@ public class User extends DateAudit {
 	}
 
 	public List<Comment> getComments() {
-		return comments == null ? null : new ArrayList<>(comments);
+		return comments == null ? null : Collections.unmodifiableList(comments);
 	}
 
 	public void setComments(List<Comment> comments) {
@@ -7,7 +7,6 @@ import com.sopromadze.blogapi.model.user.User;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -25,7 +24,7 @@ public class AlbumResponse extends UserDateAuditPayload {
 
 	public List<Photo> getPhoto() {
 
-		return photo == null ? null : new ArrayList<>(photo);
+		return photo;
 	}
 
 	public void setPhoto(List<Photo> photo) {
@@ -0,0 +1,29 @@
+package com.sopromadze.blogapi.payload;
+
+import com.sopromadze.blogapi.utils.AppConstants;
+import lombok.Data;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.Collections;
+import java.util.List;
+
+@Data
+public class BatchIdsRequest {
+	@NotEmpty
+	@Size(max = AppConstants.MAX_BATCH_SIZE)
+	private List<@NotNull Long> ids;
+
+	public List<Long> getIds() {
+		return ids;
+	}
+
+	public void setIds(List<Long> ids) {
+		if (ids == null) {
+			this.ids = null;
+		} else {
+			this.ids = Collections.unmodifiableList(ids);
+		}
+	}
+}
@@ -0,0 +1,30 @@
+package com.sopromadze.blogapi.payload;
+
+import com.sopromadze.blogapi.utils.AppConstants;
+import lombok.Data;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.Collections;
+import java.util.List;
+
+@Data
+public class BatchRequest<T> {
+	@Valid
+	@NotEmpty
+	@Size(max = AppConstants.MAX_BATCH_SIZE)
+	private List<T> items;
+
+	public List<T> getItems() {
+		return items;
+	}
+
+	public void setItems(List<T> items) {
+		if (items == null) {
+			this.items = null;
+		} else {
+			this.items = Collections.unmodifiableList(items);
+		}
+	}
+}
@@ -0,0 +1,35 @@
+package com.sopromadze.blogapi.payload;
+
+import lombok.Data;
+
+import java.util.Collections;
+import java.util.List;
+
+@Data
+public class BatchResponse<T> {
+	private List<BatchResult<T>> results;
+	private int succeeded;
+	private int failed;
+
+	public BatchResponse() {
+
+	}
+
+	public BatchResponse(List<BatchResult<T>> results) {
+		setResults(results);
+		this.succeeded = (int) results.stream().filter(BatchResult::isSuccess).count();
+		this.failed = results.size() - succeeded;
+	}
+
+	public List<BatchResult<T>> getResults() {
+		return results;
+	}
+
+	public final void setResults(List<BatchResult<T>> results) {
+		if (results == null) {
+			this.results = null;
+		} else {
+			this.results = Collections.unmodifiableList(results);
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package com.sopromadze.blogapi.payload;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import org.springframework.http.HttpStatus;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResult<T> {
+	private Long id;
+	private int status;
+	private String message;
+	private T data;
+
+	public BatchResult() {
+
+	}
+
+	public BatchResult(Long id, int status, String message, T data) {
+		this.id = id;
+		this.status = status;
+		this.message = message;
+		this.data = data;
+	}
+
+	public static <T> BatchResult<T> success(Long id, HttpStatus status, T data) {
+		return new BatchResult<>(id, status.value(), null, data);
+	}
+
+	public static <T> BatchResult<T> failure(Long id, HttpStatus status, String message) {
+		return new BatchResult<>(id, status.value(), message, null);
+	}
+
+	public static <T> BatchResult<T> notFound(String resourceName, Long id) {
+		return failure(id, HttpStatus.NOT_FOUND, String.format("%s not found with id: '%s'", resourceName, id));
+	}
+
+	public boolean isSuccess() {
+		return status < HttpStatus.BAD_REQUEST.value();
+	}
+}
@@ -3,7 +3,6 @@ package com.sopromadze.blogapi.payload;
 import lombok.Data;
 
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -23,7 +22,7 @@ public class ExceptionResponse {
 
 	public List<String> getMessages() {
 
-		return messages == null ? null : new ArrayList<>(messages);
+		return messages;
 	}
 
 	public final void setMessages(List<String> messages) {
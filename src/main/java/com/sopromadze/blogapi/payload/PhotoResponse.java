@@ -1,5 +1,6 @@
 package com.sopromadze.blogapi.payload;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 
 @Data
@@ -10,6 +11,12 @@ public class PhotoResponse {
 	private String thumbnailUrl;
 	private Long albumId;
 
+	/**
+	 * Only sent for a single photo.
+	 */
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private Long views;
+
 	public PhotoResponse(Long id, String title, String url, String thumbnailUrl, Long albumId) {
 		this.id = id;
 		this.title = title;
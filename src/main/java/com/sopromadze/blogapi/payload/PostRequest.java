@@ -5,7 +5,6 @@ import lombok.Data;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -23,11 +22,11 @@ public class PostRequest {
 	@NotNull
 	private Long categoryId;
 
-	private List<String> tags;
+	private List<@NotBlank @Size(max = 255) String> tags;
 
 	public List<String> getTags() {
 
-		return tags == null ? Collections.emptyList() : new ArrayList<>(tags);
+		return tags == null ? Collections.emptyList() : tags;
 	}
 
 	public void setTags(List<String> tags) {
@@ -0,0 +1,49 @@
+package com.sopromadze.blogapi.payload;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class PostSummary {
+	private Long id;
+	private String title;
+	private String body;
+	private Long categoryId;
+	private String categoryName;
+	private Long commentCount;
+	private List<String> tags;
+	private Long createdBy;
+	private Instant createdAt;
+	private Instant updatedAt;
+
+	public PostSummary(Long id, String title, String body, Long categoryId, String categoryName, Long commentCount,
+			Long createdBy, Instant createdAt, Instant updatedAt) {
+		this.id = id;
+		this.title = title;
+		this.body = body;
+		this.categoryId = categoryId;
+		this.categoryName = categoryName;
+		this.commentCount = commentCount;
+		this.createdBy = createdBy;
+		this.createdAt = createdAt;
+		this.updatedAt = updatedAt;
+		this.tags = Collections.emptyList();
+	}
+
+	public List<String> getTags() {
+		return tags;
+	}
+
+	public void setTags(List<String> tags) {
+		if (tags == null) {
+			this.tags = null;
+		} else {
+			this.tags = Collections.unmodifiableList(tags);
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package com.sopromadze.blogapi.payload;
+
+import java.time.Instant;
+import java.util.stream.Stream;
+
+/**
+ * What a single-resource representation depends on: the latest {@code updatedAt} of the entity and of everything
+ * embedded in its JSON, plus the number of embedded rows so that removals change the version too. Read with a cheap
+ * projection so that conditional GETs can be answered with 304 before the entity itself is loaded.
+ */
+public final class ResourceVersion {
+	private final Instant lastModified;
+
+	private final long related;
+
+	public ResourceVersion(Instant updatedAt) {
+		this(updatedAt, null, null, 0L);
+	}
+
+	public ResourceVersion(Instant updatedAt, Instant relatedUpdatedAt, Long related) {
+		this(updatedAt, null, relatedUpdatedAt, related);
+	}
+
+	public ResourceVersion(Instant updatedAt, Instant parentUpdatedAt, Instant relatedUpdatedAt, Long related) {
+		this.lastModified = Stream.of(updatedAt, parentUpdatedAt, relatedUpdatedAt).filter(instant -> instant != null)
+				.max(Instant::compareTo).orElse(Instant.EPOCH);
+		this.related = related == null ? 0L : related;
+	}
+
+	public Instant getLastModified() {
+		return lastModified;
+	}
+
+	public String getETag(Long id) {
+		return "\"" + id + "-" + lastModified.toEpochMilli() + "-" + related + "\"";
+	}
+}
@@ -0,0 +1,41 @@
+package com.sopromadze.blogapi.payload;
+
+import lombok.Data;
+
+import java.util.Collections;
+import java.util.List;
+
+@Data
+public class SlicedResponse<T> {
+	private List<T> content;
+	private int page;
+	private int size;
+	private boolean last;
+
+	public SlicedResponse() {
+
+	}
+
+	public SlicedResponse(List<T> content, int page, int size, boolean last) {
+		setContent(content);
+		this.page = page;
+		this.size = size;
+		this.last = last;
+	}
+
+	public List<T> getContent() {
+		return content;
+	}
+
+	public final void setContent(List<T> content) {
+		if (content == null) {
+			this.content = null;
+		} else {
+			this.content = Collections.unmodifiableList(content);
+		}
+	}
+
+	public boolean isLast() {
+		return last;
+	}
+}
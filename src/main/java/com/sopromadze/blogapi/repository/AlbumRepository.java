@@ -1,12 +1,39 @@
 package com.sopromadze.blogapi.repository;
 
 import com.sopromadze.blogapi.model.Album;
-import org.springframework.data.domain.Page;
+import com.sopromadze.blogapi.payload.ResourceVersion;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Optional;
+
 @Repository
 public interface AlbumRepository extends JpaRepository<Album, Long> {
-	Page<Album> findByCreatedBy(Long userId, Pageable pageable);
+	@EntityGraph(attributePaths = "user")
+	Slice<Album> findSliceBy(Pageable pageable);
+
+	@EntityGraph(attributePaths = "user")
+	Slice<Album> findSliceByCreatedBy(Long userId, Pageable pageable);
+
+	@EntityGraph(attributePaths = "user")
+	Optional<Album> findWithUserById(Long id);
+
+	@Query("SELECT new com.sopromadze.blogapi.payload.ResourceVersion(a.updatedAt, MAX(p.updatedAt), COUNT(p)) "
+			+ "FROM Album a LEFT JOIN a.photo p WHERE a.id = :id GROUP BY a.id, a.updatedAt")
+	Optional<ResourceVersion> findVersionById(@Param("id") Long id);
+
+	long countByCreatedBy(Long userId);
+
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE Album a SET a.title = :title, a.updatedAt = :now, a.updatedBy = :userId "
+			+ "WHERE a.id = :id AND (a.user.id = :userId OR :admin = TRUE)")
+	int updateTitle(@Param("id") Long id, @Param("title") String title, @Param("userId") Long userId,
+			@Param("admin") boolean admin, @Param("now") Instant now);
 }
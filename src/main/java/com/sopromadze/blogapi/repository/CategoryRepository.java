@@ -1,10 +1,39 @@
 package com.sopromadze.blogapi.repository;
 
 import com.sopromadze.blogapi.model.Category;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
+import static com.sopromadze.blogapi.config.CacheConfig.CATEGORIES;
+import static com.sopromadze.blogapi.config.CacheConfig.CATEGORY_PAGES;
+
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+	Slice<Category> findSliceBy(Pageable pageable);
+
+	@Query("SELECT c FROM Category c WHERE c.id = :id")
+	Optional<Category> findUncachedById(@Param("id") Long id);
+
+	@Override
+	@Cacheable(cacheNames = CATEGORIES, key = "#p0", unless = "#result == null")
+	Optional<Category> findById(Long id);
+
+	@Override
+	@Caching(evict = { @CacheEvict(cacheNames = CATEGORIES, key = "#p0.id"),
+			@CacheEvict(cacheNames = CATEGORY_PAGES, allEntries = true) })
+	<S extends Category> S save(S category);
 
+	@Override
+	@Caching(evict = { @CacheEvict(cacheNames = CATEGORIES, key = "#p0"),
+			@CacheEvict(cacheNames = CATEGORY_PAGES, allEntries = true) })
+	void deleteById(Long id);
 }
@@ -1,12 +1,31 @@
 package com.sopromadze.blogapi.repository;
 
 import com.sopromadze.blogapi.model.Comment;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-	Page<Comment> findByPostId(Long postId, Pageable pageable);
+	String OWNED_BY_POST_AND_USER = "c.id = :id AND c.post.id = :postId AND (c.user.id = :userId OR :admin = TRUE)";
+
+	Slice<Comment> findSliceByPostId(Long postId, Pageable pageable);
+
+	long countByPostId(Long postId);
+
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE Comment c SET c.body = :body, c.updatedAt = :now, c.updatedBy = :userId WHERE " + OWNED_BY_POST_AND_USER)
+	int updateBody(@Param("id") Long id, @Param("postId") Long postId, @Param("body") String body,
+			@Param("userId") Long userId, @Param("admin") boolean admin, @Param("now") Instant now);
+
+	@Modifying
+	@Query("DELETE FROM Comment c WHERE " + OWNED_BY_POST_AND_USER)
+	int deleteOwned(@Param("id") Long id, @Param("postId") Long postId, @Param("userId") Long userId,
+			@Param("admin") boolean admin);
 }
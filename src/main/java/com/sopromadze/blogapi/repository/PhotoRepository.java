@@ -1,12 +1,24 @@
 package com.sopromadze.blogapi.repository;
 
 import com.sopromadze.blogapi.model.Photo;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface PhotoRepository extends JpaRepository<Photo, Long> {
-	Page<Photo> findByAlbumId(Long albumId, Pageable pageable);
+	Slice<Photo> findSliceBy(Pageable pageable);
+
+	Slice<Photo> findSliceByAlbumId(Long albumId, Pageable pageable);
+
+	long countByAlbumId(Long albumId);
+
+	@Query("SELECT p FROM Photo p JOIN FETCH p.album WHERE p.id IN :ids")
+	List<Photo> findAllWithAlbumByIdIn(@Param("ids") Collection<Long> ids);
 }
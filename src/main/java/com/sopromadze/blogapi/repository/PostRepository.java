@@ -1,21 +1,99 @@
 package com.sopromadze.blogapi.repository;
 
 import com.sopromadze.blogapi.model.Post;
-import com.sopromadze.blogapi.model.Tag;
-import org.springframework.data.domain.Page;
+import com.sopromadze.blogapi.payload.PostSummary;
+import com.sopromadze.blogapi.payload.ResourceVersion;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.transaction.Transactional;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
-	Page<Post> findByCreatedBy(Long userId, Pageable pageable);
+	String SUMMARY = "SELECT new com.sopromadze.blogapi.payload.PostSummary(p.id, p.title, p.body, c.id, c.name, "
+			+ "p.commentCount, p.createdBy, p.createdAt, p.updatedAt) FROM Post p LEFT JOIN p.category c ";
 
-	Page<Post> findByCategory(Long categoryId, Pageable pageable);
+	String AFTER_CURSOR = "(p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) "
+			+ "ORDER BY p.createdAt DESC, p.id DESC";
 
-	Page<Post> findByTags(List<Tag> tags, Pageable pageable);
+	@Query(SUMMARY)
+	Slice<PostSummary> findSummaries(Pageable pageable);
 
-	Long countByCreatedBy(Long userId);
+	@Query(SUMMARY + "WHERE p.createdBy = :userId")
+	Slice<PostSummary> findSummariesByCreatedBy(@Param("userId") Long userId, Pageable pageable);
+
+	@Query(SUMMARY + "WHERE c.id = :categoryId")
+	Slice<PostSummary> findSummariesByCategory(@Param("categoryId") Long categoryId, Pageable pageable);
+
+	@Query(SUMMARY + "JOIN p.tags t WHERE t.id = :tagId")
+	Slice<PostSummary> findSummariesByTag(@Param("tagId") Long tagId, Pageable pageable);
+
+	@Query(SUMMARY + "WHERE " + AFTER_CURSOR)
+	List<PostSummary> findSummariesAfter(@Param("createdAt") Instant createdAt, @Param("id") Long id, Pageable pageable);
+
+	@Query(SUMMARY + "WHERE p.createdBy = :userId AND " + AFTER_CURSOR)
+	List<PostSummary> findSummariesByCreatedByAfter(@Param("userId") Long userId, @Param("createdAt") Instant createdAt,
+			@Param("id") Long id, Pageable pageable);
+
+	@Query(SUMMARY + "WHERE c.id = :categoryId AND " + AFTER_CURSOR)
+	List<PostSummary> findSummariesByCategoryAfter(@Param("categoryId") Long categoryId, @Param("createdAt") Instant createdAt,
+			@Param("id") Long id, Pageable pageable);
+
+	@Query(SUMMARY + "JOIN p.tags t WHERE t.id = :tagId AND " + AFTER_CURSOR)
+	List<PostSummary> findSummariesByTagAfter(@Param("tagId") Long tagId, @Param("createdAt") Instant createdAt,
+			@Param("id") Long id, Pageable pageable);
+
+	@Query(SUMMARY + "WHERE p.id IN :ids")
+	List<PostSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+	@Query(SUMMARY + "WHERE p.id > :id ORDER BY p.id")
+	List<PostSummary> findSummariesAfterId(@Param("id") Long id, Pageable pageable);
+
+	@Query("SELECT p.id AS postId, t.name AS name FROM Post p JOIN p.tags t WHERE p.id IN :postIds ORDER BY t.name")
+	List<TagName> findTagNamesByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+	@EntityGraph(attributePaths = { "category", "tags" })
+	Optional<Post> findWithCategoryAndTagsById(Long id);
+
+	@Query("SELECT new com.sopromadze.blogapi.payload.ResourceVersion(p.updatedAt, c.updatedAt, MAX(t.updatedAt), COUNT(t)) "
+			+ "FROM Post p LEFT JOIN p.category c LEFT JOIN p.tags t WHERE p.id = :id GROUP BY p.id, p.updatedAt, c.updatedAt")
+	Optional<ResourceVersion> findVersionById(@Param("id") Long id);
+
+	long countByCategoryId(Long categoryId);
+
+	@Query("SELECT COUNT(p) FROM Post p JOIN p.tags t WHERE t.id = :tagId")
+	long countByTagId(@Param("tagId") Long tagId);
+
+	@Modifying
+	@Query("UPDATE Post p SET p.commentCount = p.commentCount + :delta WHERE p.id = :id")
+	int addToCommentCount(@Param("id") Long id, @Param("delta") long delta);
+
+	@Query("SELECT MAX(p.id) FROM Post p")
+	Long findMaxId();
+
+	/**
+	 * Recounts the comments of the posts in {@code (after, until]}, returning how many counters were off.
+	 */
+	@Modifying
+	@Transactional
+	@Query(value = "UPDATE posts p SET comment_count = (SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id) "
+			+ "WHERE p.id > :after AND p.id <= :until "
+			+ "AND comment_count <> (SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id)", nativeQuery = true)
+	int reconcileCommentCounts(@Param("after") Long after, @Param("until") Long until);
+
+	interface TagName {
+		Long getPostId();
+
+		String getName();
+	}
 }
@@ -1,10 +1,59 @@
 package com.sopromadze.blogapi.repository;
 
 import com.sopromadze.blogapi.model.Tag;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import javax.transaction.Transactional;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static com.sopromadze.blogapi.config.CacheConfig.TAGS;
+import static com.sopromadze.blogapi.config.CacheConfig.TAG_PAGES;
+
 @Repository
-public interface TagRepository extends JpaRepository<Tag, Long> {
+public interface TagRepository extends JpaRepository<Tag, Long>, TagRepositoryCustom {
 	Tag findByName(String name);
+
+	List<Tag> findByNameIn(Collection<String> names);
+
+	/**
+	 * Reads the latest committed rows ({@code LOCK IN SHARE MODE}) rather than the snapshot of the transaction, so it
+	 * finds tags that a concurrent transaction committed after this one started.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_READ)
+	@Query("SELECT t FROM Tag t WHERE t.name IN :names")
+	List<Tag> findLockedByNameIn(@Param("names") Collection<String> names);
+
+	Slice<Tag> findSliceBy(Pageable pageable);
+
+	@Query("SELECT t FROM Tag t WHERE t.id = :id")
+	Optional<Tag> findUncachedById(@Param("id") Long id);
+
+	@Override
+	@Cacheable(cacheNames = TAGS, key = "#p0", unless = "#result == null")
+	Optional<Tag> findById(Long id);
+
+	@Override
+	@Caching(evict = { @CacheEvict(cacheNames = TAGS, key = "#p0.id"), @CacheEvict(cacheNames = TAG_PAGES, allEntries = true) })
+	<S extends Tag> S save(S tag);
+
+	@Override
+	@Caching(evict = { @CacheEvict(cacheNames = TAGS, key = "#p0"), @CacheEvict(cacheNames = TAG_PAGES, allEntries = true) })
+	void deleteById(Long id);
+
+	@Override
+	@Transactional
+	@CacheEvict(cacheNames = TAG_PAGES, allEntries = true)
+	void insertIgnoringDuplicates(Collection<String> names, Long userId);
 }
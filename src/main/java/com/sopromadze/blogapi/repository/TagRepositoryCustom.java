@@ -0,0 +1,7 @@
+package com.sopromadze.blogapi.repository;
+
+import java.util.Collection;
+
+public interface TagRepositoryCustom {
+	void insertIgnoringDuplicates(Collection<String> names, Long userId);
+}
@@ -0,0 +1,44 @@
+package com.sopromadze.blogapi.repository;
+
+import com.sopromadze.blogapi.model.Tag;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class TagRepositoryImpl implements TagRepositoryCustom {
+	private static final String INSERT_SKIPPING_DUPLICATES = "INSERT INTO tags (id, name, created_by, updated_by) "
+			+ "VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE id = id";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	/**
+	 * Sent as one batch (a single multi-row statement with {@code rewriteBatchedStatements}). Names that
+	 * already exist, including ones inserted concurrently, are left as they are through the unique index on
+	 * {@code tags.name}; any other error, such as a name too long for the column, fails the batch. Names must
+	 * already be normalized. Ids come from the same pooled generator as {@link Tag} so both insert paths
+	 * share one id range.
+	 */
+	@Override
+	public void insertIgnoringDuplicates(Collection<String> names, Long userId) {
+		SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+		IdentifierGenerator idGenerator = session.getFactory().getIdentifierGenerator(Tag.class.getName());
+
+		List<Object[]> rows = new ArrayList<>(names.size());
+		for (String name : names) {
+			rows.add(new Object[] { idGenerator.generate(session, null), name, userId, userId });
+		}
+
+		jdbcTemplate.batchUpdate(INSERT_SKIPPING_DUPLICATES, rows);
+	}
+}
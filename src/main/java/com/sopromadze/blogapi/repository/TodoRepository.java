@@ -1,12 +1,35 @@
 package com.sopromadze.blogapi.repository;
 
 import com.sopromadze.blogapi.model.Todo;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+
 @Repository
 public interface TodoRepository extends JpaRepository<Todo, Long> {
-	Page<Todo> findByCreatedBy(Long userId, Pageable pageable);
+	Slice<Todo> findSliceByCreatedBy(Long userId, Pageable pageable);
+
+	long countByCreatedBy(Long userId);
+
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE Todo t SET t.completed = :completed, t.updatedAt = :now, t.updatedBy = :userId "
+			+ "WHERE t.id = :id AND t.user.id = :userId")
+	int updateCompletedByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId,
+			@Param("completed") Boolean completed, @Param("now") Instant now);
+
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE Todo t SET t.title = :title, t.completed = :completed, t.updatedAt = :now, t.updatedBy = :userId "
+			+ "WHERE t.id = :id AND t.user.id = :userId")
+	int updateByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId, @Param("title") String title,
+			@Param("completed") Boolean completed, @Param("now") Instant now);
+
+	@Modifying
+	@Query("DELETE FROM Todo t WHERE t.id = :id AND t.user.id = :userId")
+	int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
 }
@@ -4,8 +4,12 @@ import com.sopromadze.blogapi.exception.ResourceNotFoundException;
 import com.sopromadze.blogapi.model.user.User;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.transaction.Transactional;
 import javax.validation.constraints.NotBlank;
 import java.util.Optional;
 
@@ -21,6 +25,26 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
 	Optional<User> findByUsernameOrEmail(String username, String email);
 
+	@Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+	Optional<Long> findTokenVersionById(@Param("id") Long id);
+
+	@Modifying
+	@Query("UPDATE User u SET u.postCount = u.postCount + :delta WHERE u.id = :id")
+	int addToPostCount(@Param("id") Long id, @Param("delta") long delta);
+
+	@Query("SELECT MAX(u.id) FROM User u")
+	Long findMaxId();
+
+	/**
+	 * Recounts the posts of the users in {@code (after, until]}, returning how many counters were off.
+	 */
+	@Modifying
+	@Transactional
+	@Query(value = "UPDATE users u SET post_count = (SELECT COUNT(*) FROM posts p WHERE p.user_id = u.id) "
+			+ "WHERE u.id > :after AND u.id <= :until "
+			+ "AND post_count <> (SELECT COUNT(*) FROM posts p WHERE p.user_id = u.id)", nativeQuery = true)
+	int reconcilePostCounts(@Param("after") Long after, @Param("until") Long until);
+
 	default User getUser(UserPrincipal currentUser) {
 		return getUserByName(currentUser.getUsername());
 	}
@@ -0,0 +1,31 @@
+package com.sopromadze.blogapi.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Repository
+public class ViewCountRepository {
+	public static final String POSTS = "posts";
+
+	public static final String PHOTOS = "photos";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	/**
+	 * Adds to the {@code views} column of {@link #POSTS} or {@link #PHOTOS} in one batch, in id order so that
+	 * concurrent flushes from several instances lock rows in the same order.
+	 */
+	public void addViews(String table, Map<Long, Long> viewsById) {
+		List<Object[]> rows = new ArrayList<>(viewsById.size());
+		new TreeMap<>(viewsById).forEach((id, views) -> rows.add(new Object[] { views, id }));
+
+		jdbcTemplate.batchUpdate("UPDATE " + table + " SET views = views + ? WHERE id = ?", rows);
+	}
+}
@@ -0,0 +1,287 @@
+package com.sopromadze.blogapi.search;
+
+import com.sopromadze.blogapi.payload.PostSummary;
+import com.sopromadze.blogapi.repository.PostRepository;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Lucene index over post titles, bodies and tag names. {@code PostServiceImpl} keeps it current as posts
+ * are written, and it is rebuilt from the database in a background thread at startup. Searches only return ids:
+ * posts removed by a cascade (category or user deletion) may linger in the index and are dropped when the caller
+ * loads the ids.
+ */
+@Component
+public class PostSearchIndex {
+	private static final Logger LOGGER = LoggerFactory.getLogger(PostSearchIndex.class);
+
+	private static final String ID = "id";
+
+	private static final String TITLE = "title";
+
+	private static final String BODY = "body";
+
+	private static final String TAGS = "tags";
+
+	private static final Map<String, Float> FIELD_WEIGHTS;
+
+	static {
+		Map<String, Float> weights = new HashMap<>();
+		weights.put(TITLE, 3.0F);
+		weights.put(TAGS, 2.0F);
+		weights.put(BODY, 1.0F);
+		FIELD_WEIGHTS = Collections.unmodifiableMap(weights);
+	}
+
+	/**
+	 * Drops English stop words, which would otherwise match nearly every post and dominate query cost.
+	 */
+	private final Analyzer analyzer = new StandardAnalyzer(EnglishAnalyzer.ENGLISH_STOP_WORDS_SET);
+
+	private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "post-search-rebuild");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * Serializes writes, so that the rebuild never overwrites a post that was indexed or deleted after it was read.
+	 */
+	private final Object writeLock = new Object();
+
+	/**
+	 * Posts written since the rebuild started, or {@code null} when no rebuild is running. Guarded by
+	 * {@link #writeLock}.
+	 */
+	private Set<Long> writtenDuringRebuild;
+
+	@Autowired
+	private PostRepository postRepository;
+
+	@Value("${app.searchRebuildBatchSize:1000}")
+	private int rebuildBatchSize;
+
+	@Value("${app.searchIndexPath:}")
+	private String indexPath;
+
+	private Directory directory;
+
+	private IndexWriter writer;
+
+	private SearcherManager searcherManager;
+
+	/**
+	 * Opens {@code app.searchIndexPath}, memory-mapped and outside the heap, or an in-heap index when no path is set.
+	 * Whatever the directory held before is discarded, as the index is rebuilt at startup anyway, so each instance
+	 * needs a directory of its own.
+	 */
+	@PostConstruct
+	public void open() throws IOException {
+		open(StringUtils.hasText(indexPath) ? FSDirectory.open(Paths.get(indexPath)) : new ByteBuffersDirectory());
+	}
+
+	void open(Directory directory) throws IOException {
+		this.directory = directory;
+		writer = new IndexWriter(directory, new IndexWriterConfig(analyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+		searcherManager = new SearcherManager(writer, null);
+	}
+
+	@PreDestroy
+	public void close() throws IOException {
+		rebuildExecutor.shutdownNow();
+		searcherManager.close();
+		writer.close();
+		directory.close();
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuildInBackground() {
+		synchronized (writeLock) {
+			writtenDuringRebuild = new HashSet<>();
+		}
+		rebuildExecutor.execute(this::rebuild);
+	}
+
+	public void index(Long id, String title, String body, Collection<String> tags) {
+		synchronized (writeLock) {
+			markWritten(id);
+			write(id, title, body, tags);
+		}
+		refresh();
+	}
+
+	public void delete(Long id) {
+		synchronized (writeLock) {
+			markWritten(id);
+			try {
+				writer.deleteDocuments(new Term(ID, id.toString()));
+			} catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		}
+		refresh();
+	}
+
+	/**
+	 * Ids of the best matching posts, best first. The text is read with Lucene's simple query syntax: words must all
+	 * match, {@code "..."} is a phrase, {@code |} means or, {@code -} excludes and {@code *} ends a prefix.
+	 */
+	public List<Long> search(String text, int offset, int limit) {
+		SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+		parser.setDefaultOperator(BooleanClause.Occur.MUST);
+		Query query = parser.parse(text);
+		if (query == null) {
+			return Collections.emptyList();
+		}
+
+		try {
+			IndexSearcher searcher = searcherManager.acquire();
+			try {
+				ScoreDoc[] hits = searcher.search(query, offset + limit).scoreDocs;
+				List<Long> ids = new ArrayList<>(Math.max(hits.length - offset, 0));
+				for (int i = offset; i < hits.length; i++) {
+					ids.add(Long.valueOf(searcher.doc(hits[i].doc, Collections.singleton(ID)).get(ID)));
+				}
+				return ids;
+			} finally {
+				searcherManager.release(searcher);
+			}
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private void rebuild() {
+		long start = System.nanoTime();
+		long indexed = 0;
+		try {
+			Long after = 0L;
+			List<PostSummary> batch;
+			do {
+				batch = postRepository.findSummariesAfterId(after, PageRequest.of(0, rebuildBatchSize));
+				if (batch.isEmpty()) {
+					break;
+				}
+
+				List<Long> ids = batch.stream().map(PostSummary::getId).collect(Collectors.toList());
+				Map<Long, List<String>> tagNames = postRepository.findTagNamesByPostIdIn(ids).stream()
+						.collect(Collectors.groupingBy(PostRepository.TagName::getPostId,
+								Collectors.mapping(PostRepository.TagName::getName, Collectors.toList())));
+
+				writeBatch(batch, tagNames);
+
+				indexed += batch.size();
+				after = ids.get(ids.size() - 1);
+			} while (batch.size() == rebuildBatchSize && !Thread.currentThread().isInterrupted());
+			mergeSegments();
+
+			LOGGER.info("Indexed {} posts for search in {} ms", indexed,
+					TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		} catch (RuntimeException ex) {
+			LOGGER.error("Rebuilding the post search index stopped after {} posts", indexed, ex);
+		} finally {
+			synchronized (writeLock) {
+				writtenDuringRebuild = null;
+			}
+		}
+	}
+
+	/**
+	 * Writes posts read from the database, skipping any that were written through {@link #index} or
+	 * {@link #delete} since the rebuild started.
+	 */
+	void writeBatch(List<PostSummary> batch, Map<Long, List<String>> tagNames) {
+		synchronized (writeLock) {
+			for (PostSummary post : batch) {
+				if (writtenDuringRebuild == null || !writtenDuringRebuild.contains(post.getId())) {
+					write(post.getId(), post.getTitle(), post.getBody(),
+							tagNames.getOrDefault(post.getId(), Collections.emptyList()));
+				}
+			}
+		}
+		refresh();
+	}
+
+	/**
+	 * Merges the many small segments a bulk load leaves behind into one, so that a search visits a single segment.
+	 */
+	void mergeSegments() {
+		try {
+			writer.forceMerge(1);
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		refresh();
+	}
+
+	private void write(Long id, String title, String body, Collection<String> tags) {
+		Document document = new Document();
+		document.add(new StringField(ID, id.toString(), Field.Store.YES));
+		document.add(new TextField(TITLE, title, Field.Store.NO));
+		document.add(new TextField(BODY, body, Field.Store.NO));
+		document.add(new TextField(TAGS, String.join(" ", tags), Field.Store.NO));
+		try {
+			writer.updateDocument(new Term(ID, id.toString()), document);
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private void markWritten(Long id) {
+		if (writtenDuringRebuild != null) {
+			writtenDuringRebuild.add(id);
+		}
+	}
+
+	private void refresh() {
+		try {
+			searcherManager.maybeRefreshBlocking();
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+}
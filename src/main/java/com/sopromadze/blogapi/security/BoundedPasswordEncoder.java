@@ -0,0 +1,120 @@
+package com.sopromadze.blogapi.security;
+
+import com.sopromadze.blogapi.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * BCrypt with a cost of {@code app.passwordHashStrength}, run on {@code app.passwordHashThreads} threads of its own
+ * (half the cores by default) so that sign-ins and sign-ups cannot take every core away from other requests. At most
+ * {@code app.passwordHashQueueCapacity} hashes wait for a thread, and the request thread waits with them; beyond that a
+ * hash is refused at once with a {@code 503}, which bounds how many request threads a burst of logins can hold.
+ */
+@Component
+public class BoundedPasswordEncoder implements PasswordEncoder, MeterBinder {
+	private static final String HASH_TIMER = "blogapi.password.hash";
+
+	private static final String HASH_QUEUE = "blogapi.password.queue";
+
+	private static final String HASH_REJECTED = "blogapi.password.rejected";
+
+	private static final String BUSY = "Too many sign-ins at the moment, please retry shortly";
+
+	private final BCryptPasswordEncoder delegate;
+
+	private final ThreadPoolExecutor executor;
+
+	private final LongAdder rejected = new LongAdder();
+
+	private volatile Timer encodeTimer;
+
+	private volatile Timer matchesTimer;
+
+	public BoundedPasswordEncoder(@Value("${app.passwordHashStrength:10}") int strength,
+			@Value("${app.passwordHashThreads:0}") int threads,
+			@Value("${app.passwordHashQueueCapacity:32}") int queueCapacity) {
+		this.delegate = new BCryptPasswordEncoder(strength);
+		int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+		AtomicInteger sequence = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+					Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return hash(() -> time(encodeTimer, () -> delegate.encode(rawPassword)));
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return hash(() -> time(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword)));
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return delegate.upgradeEncoding(encodedPassword);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		encodeTimer = Timer.builder(HASH_TIMER).tag("operation", "encode").register(registry);
+		matchesTimer = Timer.builder(HASH_TIMER).tag("operation", "matches").register(registry);
+		Gauge.builder(HASH_QUEUE, executor, pool -> pool.getQueue().size()).register(registry);
+		FunctionCounter.builder(HASH_REJECTED, rejected, LongAdder::sum).register(registry);
+	}
+
+	private <T> T hash(Callable<T> task) {
+		Future<T> future;
+		try {
+			future = executor.submit(task);
+		} catch (RejectedExecutionException ex) {
+			rejected.increment();
+			throw new ServiceUnavailableException(BUSY);
+		}
+
+		try {
+			return future.get();
+		} catch (InterruptedException ex) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new ServiceUnavailableException(BUSY);
+		} catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	private static <T> T time(Timer timer, Callable<T> hashing) throws Exception {
+		return timer != null ? timer.recordCallable(hashing) : hashing.call();
+	}
+}
@@ -1,6 +1,9 @@
 package com.sopromadze.blogapi.security;
 
 import com.sopromadze.blogapi.service.CustomUserDetailsService;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,21 +22,38 @@ import java.io.IOException;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 	private static final Logger LOGGER = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+	private static final String AUTHENTICATION_TIMER = "blogapi.security.jwt";
 	@Autowired
 	private JwtTokenProvider tokenProvider;
 	@Autowired
 	private CustomUserDetailsService customUserDetailsService;
+	@Autowired
+	private UserPrincipalCache userPrincipalCache;
+	@Autowired
+	private TokenVersionCache tokenVersionCache;
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private Timer authenticationTimer;
+
+	@Override
+	protected void initFilterBean() {
+		authenticationTimer = Timer.builder(AUTHENTICATION_TIMER)
+				.description("Time spent resolving the JWT into an authenticated principal, excluding the rest of the chain")
+				.register(meterRegistry);
+	}
 
 	@Override
 	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
 			throws ServletException, IOException {
+		Timer.Sample sample = Timer.start(meterRegistry);
 		try {
 			String jwt = getJwtFromRequest(request);
 
-			if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-				Long userId = tokenProvider.getUserIdFromJWT(jwt);
+			Claims claims = StringUtils.hasText(jwt) ? tokenProvider.verifyToken(jwt) : null;
+			UserDetails userDetails = claims == null ? null : getUserDetails(claims);
 
-				UserDetails userDetails = customUserDetailsService.loadUserById(userId);
+			if (userDetails != null) {
 				UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userDetails, null,
 						userDetails.getAuthorities());
 				authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -42,11 +62,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 			}
 		} catch (Exception ex) {
 			LOGGER.error("Could not set user authentication in security context", ex);
+		} finally {
+			sample.stop(authenticationTimer);
 		}
 
 		filterChain.doFilter(request, response);
 	}
 
+	private UserDetails getUserDetails(Claims claims) {
+		Long userId = Long.valueOf(claims.getSubject());
+
+		UserPrincipal userPrincipal = tokenProvider.getUserPrincipalFromClaims(claims);
+		if (userPrincipal == null) {
+			return userPrincipalCache.get(userId, customUserDetailsService::loadUserById);
+		}
+
+		if (!tokenVersionCache.isCurrent(userId, userPrincipal.getTokenVersion())) {
+			LOGGER.error("Revoked JWT token");
+			return null;
+		}
+		return userPrincipal;
+	}
+
 	private String getJwtFromRequest(HttpServletRequest request) {
 		String bearerToken = request.getHeader("Authorization");
 		if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -1,57 +1,157 @@
 package com.sopromadze.blogapi.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.sopromadze.blogapi.metrics.CacheMetrics;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.SignatureException;
 import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.impl.TextCodec;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.Key;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Component
-public class JwtTokenProvider {
+public class JwtTokenProvider implements MeterBinder {
 	private static final Logger LOGGER = LoggerFactory.getLogger(JwtTokenProvider.class);
 
+	private static final String USERNAME = "username";
+
+	private static final String FIRST_NAME = "firstName";
+
+	private static final String LAST_NAME = "lastName";
+
+	private static final String EMAIL = "email";
+
+	private static final String ROLES = "roles";
+
+	private static final String TOKEN_VERSION = "ver";
+
 	@Value(value = "${app.jwtSecret}")
 	private String jwtSecret;
 
 	@Value(value = "${app.jwtExpirationInMs}")
 	private int jwtExpirationInMs;
 
+	@Value(value = "${app.jwtSelfContained:false}")
+	private boolean jwtSelfContained;
+
+	@Value(value = "${app.jwtCacheTtlInMs:300000}")
+	private long jwtCacheTtlInMs;
+
+	@Value(value = "${app.jwtCacheMaxSize:10000}")
+	private long jwtCacheMaxSize;
+
+	private Key signingKey;
+
+	private JwtParser jwtParser;
+
+	private Cache<String, Claims> verifiedTokens;
+
+	@PostConstruct
+	void init() {
+		signingKey = new SecretKeySpec(TextCodec.BASE64.decode(jwtSecret), SignatureAlgorithm.HS512.getJcaName());
+		jwtParser = Jwts.parser().setSigningKey(signingKey);
+		verifiedTokens = Caffeine.newBuilder()
+				.expireAfter(new UntilTokenExpiry(TimeUnit.MILLISECONDS.toNanos(jwtCacheTtlInMs)))
+				.maximumSize(jwtCacheMaxSize)
+				.recordStats()
+				.build();
+	}
+
 	public String generateToken(Authentication authentication) {
 		UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
 
 		Date now = new Date();
 		Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
 
-		return Jwts.builder()
+		JwtBuilder builder = Jwts.builder()
 				.setSubject(Long.toString(userPrincipal.getId()))
 				.setIssuedAt(new Date())
-				.setExpiration(expiryDate)
-				.signWith(SignatureAlgorithm.HS512, jwtSecret)
+				.setExpiration(expiryDate);
+
+		if (jwtSelfContained && userPrincipal.getTokenVersion() != null) {
+			List<String> roles = userPrincipal.getAuthorities().stream()
+					.map(GrantedAuthority::getAuthority).collect(Collectors.toList());
+
+			builder.claim(USERNAME, userPrincipal.getUsername())
+					.claim(FIRST_NAME, userPrincipal.getFirstName())
+					.claim(LAST_NAME, userPrincipal.getLastName())
+					.claim(EMAIL, userPrincipal.getEmail())
+					.claim(ROLES, roles)
+					.claim(TOKEN_VERSION, userPrincipal.getTokenVersion());
+		}
+
+		return builder
+				.signWith(SignatureAlgorithm.HS512, signingKey)
 				.compact();
 	}
 
-	public Long getUserIdFromJWT(String token) {
-		Claims claims = Jwts.parser()
-				.setSigningKey(jwtSecret)
-				.parseClaimsJws(token)
-				.getBody();
+	/**
+	 * Verifies the signature and expiry of the token and returns its claims, or {@code null} when
+	 * the token is not valid. Tokens that already passed are answered from memory until they
+	 * expire, without decoding or recomputing the HMAC.
+	 */
+	public Claims verifyToken(String token) {
+		Claims claims = verifiedTokens.getIfPresent(token);
+		if (claims != null) {
+			return claims;
+		}
 
-		return Long.valueOf(claims.getSubject());
+		claims = parseClaims(token);
+		if (claims != null && claims.getExpiration() != null) {
+			verifiedTokens.put(token, claims);
+		}
+		return claims;
 	}
 
-	public boolean validateToken(String authToken) {
+	/**
+	 * Builds the principal from a self-contained token, or returns {@code null} when the token only
+	 * carries the user id and the principal has to be loaded.
+	 */
+	public UserPrincipal getUserPrincipalFromClaims(Claims claims) {
+		if (!claims.containsKey(TOKEN_VERSION)) {
+			return null;
+		}
+
+		List<?> roles = claims.get(ROLES, List.class);
+		List<GrantedAuthority> authorities = roles.stream()
+				.map(role -> new SimpleGrantedAuthority(role.toString())).collect(Collectors.toList());
+
+		return new UserPrincipal(Long.valueOf(claims.getSubject()), claims.get(FIRST_NAME, String.class),
+				claims.get(LAST_NAME, String.class), claims.get(USERNAME, String.class), claims.get(EMAIL, String.class),
+				null, authorities, ((Number) claims.get(TOKEN_VERSION)).longValue());
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CacheMetrics.monitor(registry, verifiedTokens, "verifiedTokens");
+	}
+
+	Claims parseClaims(String authToken) {
 		try {
-			Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(authToken);
-			return true;
+			return jwtParser.parseClaimsJws(authToken).getBody();
 		} catch (SignatureException ex) {
 			LOGGER.error("Invalid JWT signature");
 		} catch (MalformedJwtException ex) {
@@ -63,6 +163,30 @@ public class JwtTokenProvider {
 		} catch (IllegalArgumentException ex) {
 			LOGGER.error("JWT claims string is empty");
 		}
-		return false;
+		return null;
+	}
+
+	private static final class UntilTokenExpiry implements Expiry<String, Claims> {
+		private final long maxTtlInNanos;
+
+		private UntilTokenExpiry(long maxTtlInNanos) {
+			this.maxTtlInNanos = maxTtlInNanos;
+		}
+
+		@Override
+		public long expireAfterCreate(String token, Claims claims, long currentTime) {
+			long untilExpiry = TimeUnit.MILLISECONDS.toNanos(claims.getExpiration().getTime() - System.currentTimeMillis());
+			return Math.max(0L, Math.min(untilExpiry, maxTtlInNanos));
+		}
+
+		@Override
+		public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+			return expireAfterCreate(token, claims, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
 	}
 }
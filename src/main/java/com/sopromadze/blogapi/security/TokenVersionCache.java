@@ -0,0 +1,48 @@
+package com.sopromadze.blogapi.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sopromadze.blogapi.metrics.CacheMetrics;
+import com.sopromadze.blogapi.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Current {@code users.token_version} per user id. A self-contained token is only accepted while
+ * its {@code ver} claim matches, so bumping the column revokes every token issued before.
+ */
+@Component
+public class TokenVersionCache implements MeterBinder {
+	private final Cache<Long, Long> versions;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	public TokenVersionCache(@Value("${app.tokenVersionCacheTtlInMs:30000}") long ttlInMs,
+			@Value("${app.tokenVersionCacheMaxSize:10000}") long maxSize) {
+		this.versions = Caffeine.newBuilder()
+				.expireAfterWrite(ttlInMs, TimeUnit.MILLISECONDS)
+				.maximumSize(maxSize)
+				.recordStats()
+				.build();
+	}
+
+	public boolean isCurrent(Long userId, Long tokenVersion) {
+		Long currentVersion = versions.get(userId, id -> userRepository.findTokenVersionById(id).orElse(null));
+		return currentVersion != null && currentVersion.equals(tokenVersion);
+	}
+
+	public void invalidate(Long userId) {
+		versions.invalidate(userId);
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CacheMetrics.monitor(registry, versions, "tokenVersions");
+	}
+}
@@ -1,6 +1,7 @@
 package com.sopromadze.blogapi.security;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.sopromadze.blogapi.model.role.RoleName;
 import com.sopromadze.blogapi.model.user.User;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -8,6 +9,8 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -15,6 +18,8 @@ import java.util.stream.Collectors;
 public class UserPrincipal implements UserDetails {
 	private static final long serialVersionUID = 1L;
 
+	private static final RoleName[] ROLE_NAMES = RoleName.values();
+
 	private Long id;
 
 	private String firstName;
@@ -31,8 +36,18 @@ public class UserPrincipal implements UserDetails {
 
 	private Collection<? extends GrantedAuthority> authorities;
 
+	private EnumSet<RoleName> roleNames;
+
+	@JsonIgnore
+	private Long tokenVersion;
+
 	public UserPrincipal(Long id, String firstName, String lastName, String username, String email, String password,
 			Collection<? extends GrantedAuthority> authorities) {
+		this(id, firstName, lastName, username, email, password, authorities, null);
+	}
+
+	public UserPrincipal(Long id, String firstName, String lastName, String username, String email, String password,
+			Collection<? extends GrantedAuthority> authorities, Long tokenVersion) {
 		this.id = id;
 		this.firstName = firstName;
 		this.lastName = lastName;
@@ -42,9 +57,12 @@ public class UserPrincipal implements UserDetails {
 
 		if (authorities == null) {
 			this.authorities = null;
+			this.roleNames = EnumSet.noneOf(RoleName.class);
 		} else {
-			this.authorities = new ArrayList<>(authorities);
+			this.authorities = Collections.unmodifiableList(new ArrayList<>(authorities));
+			this.roleNames = toRoleNames(authorities);
 		}
+		this.tokenVersion = tokenVersion;
 	}
 
 	public static UserPrincipal create(User user) {
@@ -52,7 +70,28 @@ public class UserPrincipal implements UserDetails {
 				.map(role -> new SimpleGrantedAuthority(role.getName().name())).collect(Collectors.toList());
 
 		return new UserPrincipal(user.getId(), user.getFirstName(), user.getLastName(), user.getUsername(),
-				user.getEmail(), user.getPassword(), authorities);
+				user.getEmail(), user.getPassword(), authorities, user.getTokenVersion());
+	}
+
+	private static EnumSet<RoleName> toRoleNames(Collection<? extends GrantedAuthority> authorities) {
+		EnumSet<RoleName> roleNames = EnumSet.noneOf(RoleName.class);
+		for (GrantedAuthority authority : authorities) {
+			for (RoleName roleName : ROLE_NAMES) {
+				if (roleName.name().equals(authority.getAuthority())) {
+					roleNames.add(roleName);
+				}
+			}
+		}
+		return roleNames;
+	}
+
+	public boolean hasRole(RoleName roleName) {
+		return roleNames.contains(roleName);
+	}
+
+	@JsonIgnore
+	public boolean isAdmin() {
+		return roleNames.contains(RoleName.ROLE_ADMIN);
 	}
 
 	public Long getId() {
@@ -65,7 +104,7 @@ public class UserPrincipal implements UserDetails {
 
 	@Override
 	public Collection<? extends GrantedAuthority> getAuthorities() {
-		return authorities == null ? null : new ArrayList<>(authorities);
+		return authorities;
 	}
 
 	@Override
@@ -118,4 +157,8 @@ public class UserPrincipal implements UserDetails {
 	public String getLastName() {
 		return lastName;
 	}
+
+	public Long getTokenVersion() {
+		return tokenVersion;
+	}
 }
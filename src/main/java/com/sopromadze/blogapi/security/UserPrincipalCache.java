@@ -0,0 +1,46 @@
+package com.sopromadze.blogapi.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sopromadze.blogapi.metrics.CacheMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Authenticated principals keyed by user id, so that {@link JwtAuthenticationFilter} does not
+ * reload the user and its roles on every request. Entries expire after
+ * {@code app.principalCacheTtlInMs}; anything that changes a user's name, password or roles must
+ * call {@link #invalidate(Long)}.
+ */
+@Component
+public class UserPrincipalCache implements MeterBinder {
+	private final Cache<Long, UserDetails> principals;
+
+	public UserPrincipalCache(@Value("${app.principalCacheTtlInMs:300000}") long ttlInMs,
+			@Value("${app.principalCacheMaxSize:10000}") long maxSize) {
+		this.principals = Caffeine.newBuilder()
+				.expireAfterWrite(ttlInMs, TimeUnit.MILLISECONDS)
+				.maximumSize(maxSize)
+				.recordStats()
+				.build();
+	}
+
+	public UserDetails get(Long userId, Function<Long, UserDetails> loader) {
+		return principals.get(userId, loader);
+	}
+
+	public void invalidate(Long userId) {
+		principals.invalidate(userId);
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CacheMetrics.monitor(registry, principals, "userPrincipals");
+	}
+}
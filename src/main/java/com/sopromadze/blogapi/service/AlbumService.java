@@ -3,23 +3,26 @@ package com.sopromadze.blogapi.service;
 import com.sopromadze.blogapi.model.Album;
 import com.sopromadze.blogapi.payload.AlbumResponse;
 import com.sopromadze.blogapi.payload.ApiResponse;
-import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.ResourceVersion;
+import com.sopromadze.blogapi.payload.SlicedResponse;
 import com.sopromadze.blogapi.payload.request.AlbumRequest;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import org.springframework.http.ResponseEntity;
 
 public interface AlbumService {
 
-	PagedResponse<AlbumResponse> getAllAlbums(int page, int size);
+	SlicedResponse<AlbumResponse> getAllAlbums(int page, int size, boolean withTotal);
 
 	ResponseEntity<Album> addAlbum(AlbumRequest albumRequest, UserPrincipal currentUser);
 
 	ResponseEntity<Album> getAlbum(Long id);
 
+	ResourceVersion getAlbumVersion(Long id);
+
 	ResponseEntity<AlbumResponse> updateAlbum(Long id, AlbumRequest newAlbum, UserPrincipal currentUser);
 
 	ResponseEntity<ApiResponse> deleteAlbum(Long id, UserPrincipal currentUser);
 
-	PagedResponse<Album> getUserAlbums(String username, int page, int size);
+	SlicedResponse<Album> getUserAlbums(String username, int page, int size, boolean withTotal);
 
 }
@@ -3,13 +3,13 @@ package com.sopromadze.blogapi.service;
 import com.sopromadze.blogapi.exception.UnauthorizedException;
 import com.sopromadze.blogapi.model.Category;
 import com.sopromadze.blogapi.payload.ApiResponse;
-import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.SlicedResponse;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import org.springframework.http.ResponseEntity;
 
 public interface CategoryService {
 
-	PagedResponse<Category> getAllCategories(int page, int size);
+	SlicedResponse<Category> getAllCategories(int page, int size, boolean withTotal);
 
 	ResponseEntity<Category> getCategory(Long id);
 
@@ -2,13 +2,16 @@ package com.sopromadze.blogapi.service;
 
 import com.sopromadze.blogapi.model.Comment;
 import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.BatchResponse;
 import com.sopromadze.blogapi.payload.CommentRequest;
-import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.SlicedResponse;
 import com.sopromadze.blogapi.security.UserPrincipal;
 
+import java.util.List;
+
 public interface CommentService {
 
-	PagedResponse<Comment> getAllComments(Long postId, int page, int size);
+	SlicedResponse<Comment> getAllComments(Long postId, int page, int size, boolean withTotal);
 
 	Comment addComment(CommentRequest commentRequest, Long postId, UserPrincipal currentUser);
 
@@ -18,4 +21,8 @@ public interface CommentService {
 
 	ApiResponse deleteComment(Long postId, Long id, UserPrincipal currentUser);
 
+	BatchResponse<Comment> addComments(List<CommentRequest> commentRequests, Long postId, UserPrincipal currentUser);
+
+	BatchResponse<Comment> deleteComments(Long postId, List<Long> ids, UserPrincipal currentUser);
+
 }
@@ -0,0 +1,8 @@
+package com.sopromadze.blogapi.service;
+
+import java.util.function.LongSupplier;
+
+public interface CountService {
+
+	long count(String key, LongSupplier counter);
+}
@@ -0,0 +1,6 @@
+package com.sopromadze.blogapi.service;
+
+public interface CounterReconciliationService {
+
+	void reconcileCounters();
+}
@@ -0,0 +1,8 @@
+package com.sopromadze.blogapi.service;
+
+import com.sopromadze.blogapi.security.UserPrincipal;
+
+public interface OwnershipService {
+
+	boolean isOwnerOrAdmin(Long ownerId, UserPrincipal currentUser);
+}
@@ -1,14 +1,17 @@
 package com.sopromadze.blogapi.service;
 
 import com.sopromadze.blogapi.payload.ApiResponse;
-import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.BatchResponse;
 import com.sopromadze.blogapi.payload.PhotoRequest;
 import com.sopromadze.blogapi.payload.PhotoResponse;
+import com.sopromadze.blogapi.payload.SlicedResponse;
 import com.sopromadze.blogapi.security.UserPrincipal;
 
+import java.util.List;
+
 public interface PhotoService {
 
-	PagedResponse<PhotoResponse> getAllPhotos(int page, int size);
+	SlicedResponse<PhotoResponse> getAllPhotos(int page, int size, boolean withTotal);
 
 	PhotoResponse getPhoto(Long id);
 
@@ -18,6 +21,10 @@ public interface PhotoService {
 
 	ApiResponse deletePhoto(Long id, UserPrincipal currentUser);
 
-	PagedResponse<PhotoResponse> getAllPhotosByAlbum(Long albumId, int page, int size);
+	SlicedResponse<PhotoResponse> getAllPhotosByAlbum(Long albumId, int page, int size, boolean withTotal);
+
+	BatchResponse<PhotoResponse> addPhotos(List<PhotoRequest> photoRequests, UserPrincipal currentUser);
+
+	BatchResponse<PhotoResponse> deletePhotos(List<Long> ids, UserPrincipal currentUser);
 
 }
\ No newline at end of file
@@ -2,20 +2,33 @@ package com.sopromadze.blogapi.service;
 
 import com.sopromadze.blogapi.model.Post;
 import com.sopromadze.blogapi.payload.ApiResponse;
-import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.CursorPagedResponse;
 import com.sopromadze.blogapi.payload.PostRequest;
 import com.sopromadze.blogapi.payload.PostResponse;
+import com.sopromadze.blogapi.payload.PostSummary;
+import com.sopromadze.blogapi.payload.ResourceVersion;
+import com.sopromadze.blogapi.payload.SlicedResponse;
 import com.sopromadze.blogapi.security.UserPrincipal;
 
+import java.util.List;
+
 public interface PostService {
 
-	PagedResponse<Post> getAllPosts(int page, int size);
+	SlicedResponse<PostSummary> getAllPosts(int page, int size, boolean withTotal);
+
+	SlicedResponse<PostSummary> getPostsByCreatedBy(String username, int page, int size, boolean withTotal);
+
+	SlicedResponse<PostSummary> getPostsByCategory(Long id, int page, int size, boolean withTotal);
+
+	SlicedResponse<PostSummary> getPostsByTag(Long id, int page, int size, boolean withTotal);
+
+	CursorPagedResponse<PostSummary> getAllPosts(String after, int size);
 
-	PagedResponse<Post> getPostsByCreatedBy(String username, int page, int size);
+	CursorPagedResponse<PostSummary> getPostsByCreatedBy(String username, String after, int size);
 
-	PagedResponse<Post> getPostsByCategory(Long id, int page, int size);
+	CursorPagedResponse<PostSummary> getPostsByCategory(Long id, String after, int size);
 
-	PagedResponse<Post> getPostsByTag(Long id, int page, int size);
+	CursorPagedResponse<PostSummary> getPostsByTag(Long id, String after, int size);
 
 	Post updatePost(Long id, PostRequest newPostRequest, UserPrincipal currentUser);
 
@@ -25,4 +38,12 @@ public interface PostService {
 
 	Post getPost(Long id);
 
+	SlicedResponse<PostSummary> searchPosts(String query, int page, int size);
+
+	List<PostSummary> getMostViewedPosts(int size);
+
+	List<PostSummary> getTrendingPosts(int size);
+
+	ResourceVersion getPostVersion(Long id);
+
 }
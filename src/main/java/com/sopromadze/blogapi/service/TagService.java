@@ -2,12 +2,12 @@ package com.sopromadze.blogapi.service;
 
 import com.sopromadze.blogapi.model.Tag;
 import com.sopromadze.blogapi.payload.ApiResponse;
-import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.SlicedResponse;
 import com.sopromadze.blogapi.security.UserPrincipal;
 
 public interface TagService {
 
-	PagedResponse<Tag> getAllTags(int page, int size);
+	SlicedResponse<Tag> getAllTags(int page, int size, boolean withTotal);
 
 	Tag getTag(Long id);
 
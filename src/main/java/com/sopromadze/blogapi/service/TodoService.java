@@ -2,16 +2,19 @@ package com.sopromadze.blogapi.service;
 
 import com.sopromadze.blogapi.model.Todo;
 import com.sopromadze.blogapi.payload.ApiResponse;
-import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.BatchResponse;
+import com.sopromadze.blogapi.payload.SlicedResponse;
 import com.sopromadze.blogapi.security.UserPrincipal;
 
+import java.util.List;
+
 public interface TodoService {
 
 	Todo completeTodo(Long id, UserPrincipal currentUser);
 
 	Todo unCompleteTodo(Long id, UserPrincipal currentUser);
 
-	PagedResponse<Todo> getAllTodos(UserPrincipal currentUser, int page, int size);
+	SlicedResponse<Todo> getAllTodos(UserPrincipal currentUser, int page, int size, boolean withTotal);
 
 	Todo addTodo(Todo todo, UserPrincipal currentUser);
 
@@ -21,4 +24,12 @@ public interface TodoService {
 
 	ApiResponse deleteTodo(Long id, UserPrincipal currentUser);
 
+	BatchResponse<Todo> addTodos(List<Todo> todos, UserPrincipal currentUser);
+
+	BatchResponse<Todo> updateTodos(List<Todo> todos, UserPrincipal currentUser);
+
+	BatchResponse<Todo> setTodosCompleted(List<Long> ids, boolean completed, UserPrincipal currentUser);
+
+	BatchResponse<Todo> deleteTodos(List<Long> ids, UserPrincipal currentUser);
+
 }
@@ -0,0 +1,20 @@
+package com.sopromadze.blogapi.service;
+
+import java.util.List;
+import java.util.Map;
+
+public interface TrendingService {
+
+	/**
+	 * Scores {@code count} comments added to a post, or removed when negative.
+	 */
+	void recordComments(Long postId, int count);
+
+	void recordViews(Map<Long, Long> viewsByPostId);
+
+	void removePost(Long postId);
+
+	List<Long> getTrendingPostIds(int limit);
+
+	void decay();
+}
@@ -0,0 +1,14 @@
+package com.sopromadze.blogapi.service;
+
+import java.util.List;
+
+public interface ViewCountService {
+
+	void recordPostView(Long id);
+
+	void recordPhotoView(Long id);
+
+	List<Long> getMostViewedPostIds(int limit);
+
+	void flush();
+}
@@ -3,28 +3,31 @@ package com.sopromadze.blogapi.service.impl;
 import com.sopromadze.blogapi.exception.BlogapiException;
 import com.sopromadze.blogapi.exception.ResourceNotFoundException;
 import com.sopromadze.blogapi.model.Album;
-import com.sopromadze.blogapi.model.role.RoleName;
 import com.sopromadze.blogapi.model.user.User;
 import com.sopromadze.blogapi.payload.AlbumResponse;
 import com.sopromadze.blogapi.payload.ApiResponse;
-import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.ResourceVersion;
+import com.sopromadze.blogapi.payload.SlicedResponse;
 import com.sopromadze.blogapi.payload.request.AlbumRequest;
 import com.sopromadze.blogapi.repository.AlbumRepository;
 import com.sopromadze.blogapi.repository.UserRepository;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import com.sopromadze.blogapi.service.AlbumService;
+import com.sopromadze.blogapi.service.CountService;
+import com.sopromadze.blogapi.service.OwnershipService;
 import com.sopromadze.blogapi.utils.AppUtils;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
+import javax.transaction.Transactional;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -48,34 +51,36 @@ public class AlbumServiceImpl implements AlbumService {
 	@Autowired
 	private ModelMapper modelMapper;
 
+	@Autowired
+	private CountService countService;
+
+	@Autowired
+	private OwnershipService ownershipService;
+
 	@Override
-	public PagedResponse<AlbumResponse> getAllAlbums(int page, int size) {
+	public SlicedResponse<AlbumResponse> getAllAlbums(int page, int size, boolean withTotal) {
 		AppUtils.validatePageNumberAndSize(page, size);
 
 		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, CREATED_AT);
 
-		Page<Album> albums = albumRepository.findAll(pageable);
+		Slice<Album> albums = albumRepository.findSliceBy(pageable);
 
-		if (albums.getNumberOfElements() == 0) {
-			return new PagedResponse<>(Collections.emptyList(), albums.getNumber(), albums.getSize(), albums.getTotalElements(),
-					albums.getTotalPages(), albums.isLast());
-		}
-
-		List<AlbumResponse> albumResponses = Arrays.asList(modelMapper.map(albums.getContent(), AlbumResponse[].class));
+		List<AlbumResponse> albumResponses = albums.getNumberOfElements() == 0 ? Collections.emptyList()
+				: Arrays.asList(modelMapper.map(albums.getContent(), AlbumResponse[].class));
 
-		return new PagedResponse<>(albumResponses, albums.getNumber(), albums.getSize(), albums.getTotalElements(), albums.getTotalPages(),
-				albums.isLast());
+		if (withTotal) {
+			return AppUtils.toPagedResponse(albumResponses, albums, countService.count("albums", albumRepository::count));
+		}
+		return AppUtils.toSlicedResponse(albumResponses, albums);
 	}
 
 	@Override
 	public ResponseEntity<Album> addAlbum(AlbumRequest albumRequest, UserPrincipal currentUser) {
-		User user = userRepository.getUser(currentUser);
-
 		Album album = new Album();
 
 		modelMapper.map(albumRequest, album);
 
-		album.setUser(user);
+		album.setUser(userRepository.getOne(currentUser.getId()));
 		Album newAlbum = albumRepository.save(album);
 		return new ResponseEntity<>(newAlbum, HttpStatus.CREATED);
 	}
@@ -87,30 +92,33 @@ public class AlbumServiceImpl implements AlbumService {
 	}
 
 	@Override
+	public ResourceVersion getAlbumVersion(Long id) {
+		return albumRepository.findVersionById(id).orElseThrow(() -> new ResourceNotFoundException(ALBUM_STR, ID, id));
+	}
+
+	@Override
+	@Transactional
 	public ResponseEntity<AlbumResponse> updateAlbum(Long id, AlbumRequest newAlbum, UserPrincipal currentUser) {
-		Album album = albumRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(ALBUM_STR, ID, id));
-		User user = userRepository.getUser(currentUser);
-		if (album.getUser().getId().equals(user.getId()) || currentUser.getAuthorities()
-				.contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
-			album.setTitle(newAlbum.getTitle());
-			Album updatedAlbum = albumRepository.save(album);
+		if (albumRepository.updateTitle(id, newAlbum.getTitle(), currentUser.getId(), currentUser.isAdmin(), Instant.now()) == 0) {
+			if (!albumRepository.existsById(id)) {
+				throw new ResourceNotFoundException(ALBUM_STR, ID, id);
+			}
+			throw new BlogapiException(HttpStatus.UNAUTHORIZED, YOU_DON_T_HAVE_PERMISSION_TO_MAKE_THIS_OPERATION);
+		}
 
-			AlbumResponse albumResponse = new AlbumResponse();
+		Album updatedAlbum = albumRepository.findWithUserById(id).orElseThrow(() -> new ResourceNotFoundException(ALBUM_STR, ID, id));
 
-			modelMapper.map(updatedAlbum, albumResponse);
+		AlbumResponse albumResponse = new AlbumResponse();
 
-			return new ResponseEntity<>(albumResponse, HttpStatus.OK);
-		}
+		modelMapper.map(updatedAlbum, albumResponse);
 
-		throw new BlogapiException(HttpStatus.UNAUTHORIZED, YOU_DON_T_HAVE_PERMISSION_TO_MAKE_THIS_OPERATION);
+		return new ResponseEntity<>(albumResponse, HttpStatus.OK);
 	}
 
 	@Override
 	public ResponseEntity<ApiResponse> deleteAlbum(Long id, UserPrincipal currentUser) {
 		Album album = albumRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(ALBUM_STR, ID, id));
-		User user = userRepository.getUser(currentUser);
-		if (album.getUser().getId().equals(user.getId()) || currentUser.getAuthorities()
-				.contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+		if (ownershipService.isOwnerOrAdmin(album.getUser().getId(), currentUser)) {
 			albumRepository.deleteById(id);
 			return new ResponseEntity<>(new ApiResponse(Boolean.TRUE, "You successfully deleted album"), HttpStatus.OK);
 		}
@@ -119,15 +127,19 @@ public class AlbumServiceImpl implements AlbumService {
 	}
 
 	@Override
-	public PagedResponse<Album> getUserAlbums(String username, int page, int size) {
+	public SlicedResponse<Album> getUserAlbums(String username, int page, int size, boolean withTotal) {
 		User user = userRepository.getUserByName(username);
 
 		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, CREATED_AT);
 
-		Page<Album> albums = albumRepository.findByCreatedBy(user.getId(), pageable);
+		Slice<Album> albums = albumRepository.findSliceByCreatedBy(user.getId(), pageable);
 
 		List<Album> content = albums.getNumberOfElements() > 0 ? albums.getContent() : Collections.emptyList();
 
-		return new PagedResponse<>(content, albums.getNumber(), albums.getSize(), albums.getTotalElements(), albums.getTotalPages(), albums.isLast());
+		if (withTotal) {
+			return AppUtils.toPagedResponse(content, albums,
+					countService.count("albums:user:" + user.getId(), () -> albumRepository.countByCreatedBy(user.getId())));
+		}
+		return AppUtils.toSlicedResponse(content, albums);
 	}
 }
@@ -3,44 +3,56 @@ package com.sopromadze.blogapi.service.impl;
 import com.sopromadze.blogapi.exception.ResourceNotFoundException;
 import com.sopromadze.blogapi.exception.UnauthorizedException;
 import com.sopromadze.blogapi.model.Category;
-import com.sopromadze.blogapi.model.role.RoleName;
 import com.sopromadze.blogapi.payload.ApiResponse;
-import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.SlicedResponse;
 import com.sopromadze.blogapi.repository.CategoryRepository;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import com.sopromadze.blogapi.service.CategoryService;
+import com.sopromadze.blogapi.service.CountService;
+import com.sopromadze.blogapi.service.OwnershipService;
 import com.sopromadze.blogapi.utils.AppUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
 import java.util.List;
 
+import static com.sopromadze.blogapi.config.CacheConfig.CATEGORY_PAGES;
+
 @Service
 public class CategoryServiceImpl implements CategoryService {
 
 	@Autowired
 	private CategoryRepository categoryRepository;
 
+	@Autowired
+	private CountService countService;
+
+	@Autowired
+	private OwnershipService ownershipService;
+
 	@Override
-	public PagedResponse<Category> getAllCategories(int page, int size) {
+	@Cacheable(cacheNames = CATEGORY_PAGES, key = "#page + ':' + #size + ':' + #withTotal")
+	public SlicedResponse<Category> getAllCategories(int page, int size, boolean withTotal) {
 		AppUtils.validatePageNumberAndSize(page, size);
 
 		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, "createdAt");
 
-		Page<Category> categories = categoryRepository.findAll(pageable);
+		Slice<Category> categories = categoryRepository.findSliceBy(pageable);
 
 		List<Category> content = categories.getNumberOfElements() == 0 ? Collections.emptyList() : categories.getContent();
 
-		return new PagedResponse<>(content, categories.getNumber(), categories.getSize(), categories.getTotalElements(),
-				categories.getTotalPages(), categories.isLast());
+		if (withTotal) {
+			return AppUtils.toPagedResponse(content, categories, countService.count("categories", categoryRepository::count));
+		}
+		return AppUtils.toSlicedResponse(content, categories);
 	}
 
 	@Override
@@ -57,9 +69,8 @@ public class CategoryServiceImpl implements CategoryService {
 
 	@Override
 	public ResponseEntity<Category> updateCategory(Long id, Category newCategory, UserPrincipal currentUser) {
-		Category category = categoryRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Category", "id", id));
-		if (category.getCreatedBy().equals(currentUser.getId()) || currentUser.getAuthorities()
-				.contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+		Category category = categoryRepository.findUncachedById(id).orElseThrow(() -> new ResourceNotFoundException("Category", "id", id));
+		if (ownershipService.isOwnerOrAdmin(category.getCreatedBy(), currentUser)) {
 			category.setName(newCategory.getName());
 			Category updatedCategory = categoryRepository.save(category);
 			return new ResponseEntity<>(updatedCategory, HttpStatus.OK);
@@ -71,8 +82,7 @@ public class CategoryServiceImpl implements CategoryService {
 	@Override
 	public ResponseEntity<ApiResponse> deleteCategory(Long id, UserPrincipal currentUser) {
 		Category category = categoryRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("category", "id", id));
-		if (category.getCreatedBy().equals(currentUser.getId()) || currentUser.getAuthorities()
-				.contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+		if (ownershipService.isOwnerOrAdmin(category.getCreatedBy(), currentUser)) {
 			categoryRepository.deleteById(id);
 			return new ResponseEntity<>(new ApiResponse(Boolean.TRUE, "You successfully deleted category"), HttpStatus.OK);
 		}
@@ -4,26 +4,39 @@ import com.sopromadze.blogapi.exception.BlogapiException;
 import com.sopromadze.blogapi.exception.ResourceNotFoundException;
 import com.sopromadze.blogapi.model.Comment;
 import com.sopromadze.blogapi.model.Post;
-import com.sopromadze.blogapi.model.role.RoleName;
 import com.sopromadze.blogapi.model.user.User;
 import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.BatchResponse;
+import com.sopromadze.blogapi.payload.BatchResult;
 import com.sopromadze.blogapi.payload.CommentRequest;
-import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.SlicedResponse;
 import com.sopromadze.blogapi.repository.CommentRepository;
 import com.sopromadze.blogapi.repository.PostRepository;
 import com.sopromadze.blogapi.repository.UserRepository;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import com.sopromadze.blogapi.service.CommentService;
+import com.sopromadze.blogapi.service.CountService;
+import com.sopromadze.blogapi.service.OwnershipService;
+import com.sopromadze.blogapi.service.TrendingService;
 import com.sopromadze.blogapi.utils.AppUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
+import javax.transaction.Transactional;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
 public class CommentServiceImpl implements CommentService {
 	private static final String THIS_COMMENT = " this comment";
@@ -47,37 +60,49 @@ public class CommentServiceImpl implements CommentService {
 	@Autowired
 	private UserRepository userRepository;
 
+	@Autowired
+	private CountService countService;
+
+	@Autowired
+	private OwnershipService ownershipService;
+
+	@Autowired
+	private TrendingService trendingService;
+
 	@Override
-	public PagedResponse<Comment> getAllComments(Long postId, int page, int size) {
+	public SlicedResponse<Comment> getAllComments(Long postId, int page, int size, boolean withTotal) {
 		AppUtils.validatePageNumberAndSize(page, size);
 		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, "createdAt");
 
-		Page<Comment> comments = commentRepository.findByPostId(postId, pageable);
+		Slice<Comment> comments = commentRepository.findSliceByPostId(postId, pageable);
 
-		return new PagedResponse<>(comments.getContent(), comments.getNumber(), comments.getSize(),
-				comments.getTotalElements(), comments.getTotalPages(), comments.isLast());
+		if (withTotal) {
+			return AppUtils.toPagedResponse(comments.getContent(), comments,
+					countService.count("comments:post:" + postId, () -> commentRepository.countByPostId(postId)));
+		}
+		return AppUtils.toSlicedResponse(comments.getContent(), comments);
 	}
 
 	@Override
+	@Transactional
 	public Comment addComment(CommentRequest commentRequest, Long postId, UserPrincipal currentUser) {
 		Post post = postRepository.findById(postId)
 				.orElseThrow(() -> new ResourceNotFoundException(POST_STR, ID_STR, postId));
-		User user = userRepository.getUser(currentUser);
 		Comment comment = new Comment(commentRequest.getBody());
-		comment.setUser(user);
+		comment.setUser(userRepository.getOne(currentUser.getId()));
 		comment.setPost(post);
 		comment.setName(currentUser.getUsername());
 		comment.setEmail(currentUser.getEmail());
-		return commentRepository.save(comment);
+		Comment newComment = commentRepository.save(comment);
+		postRepository.addToCommentCount(postId, 1);
+		AppUtils.runAfterCommit(() -> trendingService.recordComments(postId, 1));
+		return newComment;
 	}
 
 	@Override
 	public Comment getComment(Long postId, Long id) {
-		Post post = postRepository.findById(postId)
-				.orElseThrow(() -> new ResourceNotFoundException(POST_STR, ID_STR, postId));
-		Comment comment = commentRepository.findById(id)
-				.orElseThrow(() -> new ResourceNotFoundException(COMMENT_STR, ID_STR, id));
-		if (comment.getPost().getId().equals(post.getId())) {
+		Comment comment = findComment(postId, id);
+		if (comment.getPost().getId().equals(postId)) {
 			return comment;
 		}
 
@@ -85,43 +110,106 @@ public class CommentServiceImpl implements CommentService {
 	}
 
 	@Override
+	@Transactional
 	public Comment updateComment(Long postId, Long id, CommentRequest commentRequest,
 			UserPrincipal currentUser) {
-		Post post = postRepository.findById(postId)
-				.orElseThrow(() -> new ResourceNotFoundException(POST_STR, ID_STR, postId));
-		Comment comment = commentRepository.findById(id)
-				.orElseThrow(() -> new ResourceNotFoundException(COMMENT_STR, ID_STR, id));
-
-		if (!comment.getPost().getId().equals(post.getId())) {
-			throw new BlogapiException(HttpStatus.BAD_REQUEST, COMMENT_DOES_NOT_BELONG_TO_POST);
+		if (commentRepository.updateBody(id, postId, commentRequest.getBody(), currentUser.getId(), currentUser.isAdmin(),
+				Instant.now()) > 0) {
+			return findComment(postId, id);
 		}
 
-		if (comment.getUser().getId().equals(currentUser.getId())
-				|| currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
-			comment.setBody(commentRequest.getBody());
-			return commentRepository.save(comment);
+		Comment comment = findComment(postId, id);
+		if (!comment.getPost().getId().equals(postId)) {
+			throw new BlogapiException(HttpStatus.BAD_REQUEST, COMMENT_DOES_NOT_BELONG_TO_POST);
 		}
 
 		throw new BlogapiException(HttpStatus.UNAUTHORIZED, YOU_DON_T_HAVE_PERMISSION_TO + "update" + THIS_COMMENT);
 	}
 
 	@Override
+	@Transactional
 	public ApiResponse deleteComment(Long postId, Long id, UserPrincipal currentUser) {
+		if (commentRepository.deleteOwned(id, postId, currentUser.getId(), currentUser.isAdmin()) > 0) {
+			postRepository.addToCommentCount(postId, -1);
+			AppUtils.runAfterCommit(() -> trendingService.recordComments(postId, -1));
+			return new ApiResponse(Boolean.TRUE, "You successfully deleted comment");
+		}
+
+		Comment comment = findComment(postId, id);
+		if (!comment.getPost().getId().equals(postId)) {
+			return new ApiResponse(Boolean.FALSE, COMMENT_DOES_NOT_BELONG_TO_POST);
+		}
+
+		throw new BlogapiException(HttpStatus.UNAUTHORIZED, YOU_DON_T_HAVE_PERMISSION_TO + "delete" + THIS_COMMENT);
+	}
+
+	@Override
+	@Transactional
+	public BatchResponse<Comment> addComments(List<CommentRequest> commentRequests, Long postId,
+			UserPrincipal currentUser) {
 		Post post = postRepository.findById(postId)
 				.orElseThrow(() -> new ResourceNotFoundException(POST_STR, ID_STR, postId));
-		Comment comment = commentRepository.findById(id)
-				.orElseThrow(() -> new ResourceNotFoundException(COMMENT_STR, ID_STR, id));
+		User user = userRepository.getOne(currentUser.getId());
+
+		List<Comment> comments = new ArrayList<>(commentRequests.size());
+		for (CommentRequest commentRequest : commentRequests) {
+			Comment comment = new Comment(commentRequest.getBody());
+			comment.setUser(user);
+			comment.setPost(post);
+			comment.setName(currentUser.getUsername());
+			comment.setEmail(currentUser.getEmail());
+			comments.add(comment);
+		}
 
-		if (!comment.getPost().getId().equals(post.getId())) {
-			return new ApiResponse(Boolean.FALSE, COMMENT_DOES_NOT_BELONG_TO_POST);
+		List<BatchResult<Comment>> results = new ArrayList<>(comments.size());
+		for (Comment comment : commentRepository.saveAll(comments)) {
+			results.add(BatchResult.success(comment.getId(), HttpStatus.CREATED, comment));
 		}
+		postRepository.addToCommentCount(postId, comments.size());
+		AppUtils.runAfterCommit(() -> trendingService.recordComments(postId, comments.size()));
+		return new BatchResponse<>(results);
+	}
 
-		if (comment.getUser().getId().equals(currentUser.getId())
-				|| currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
-			commentRepository.deleteById(comment.getId());
-			return new ApiResponse(Boolean.TRUE, "You successfully deleted comment");
+	@Override
+	@Transactional
+	public BatchResponse<Comment> deleteComments(Long postId, List<Long> ids, UserPrincipal currentUser) {
+		if (!postRepository.existsById(postId)) {
+			throw new ResourceNotFoundException(POST_STR, ID_STR, postId);
 		}
 
-		throw new BlogapiException(HttpStatus.UNAUTHORIZED, YOU_DON_T_HAVE_PERMISSION_TO + "delete" + THIS_COMMENT);
+		Set<Long> distinctIds = new LinkedHashSet<>(ids);
+		Map<Long, Comment> comments = commentRepository.findAllById(distinctIds).stream()
+				.collect(Collectors.toMap(Comment::getId, Function.identity()));
+
+		List<BatchResult<Comment>> results = new ArrayList<>(distinctIds.size());
+		List<Comment> deleted = new ArrayList<>(distinctIds.size());
+		for (Long id : distinctIds) {
+			Comment comment = comments.get(id);
+			if (comment == null) {
+				results.add(BatchResult.notFound(COMMENT_STR, id));
+			} else if (!comment.getPost().getId().equals(postId)) {
+				results.add(BatchResult.failure(id, HttpStatus.BAD_REQUEST, COMMENT_DOES_NOT_BELONG_TO_POST));
+			} else if (!ownershipService.isOwnerOrAdmin(comment.getUser().getId(), currentUser)) {
+				results.add(BatchResult.failure(id, HttpStatus.UNAUTHORIZED,
+						YOU_DON_T_HAVE_PERMISSION_TO + "delete" + THIS_COMMENT));
+			} else {
+				deleted.add(comment);
+				results.add(BatchResult.success(id, HttpStatus.OK, null));
+			}
+		}
+
+		if (!deleted.isEmpty()) {
+			commentRepository.deleteInBatch(deleted);
+			postRepository.addToCommentCount(postId, -deleted.size());
+			AppUtils.runAfterCommit(() -> trendingService.recordComments(postId, -deleted.size()));
+		}
+		return new BatchResponse<>(results);
+	}
+
+	private Comment findComment(Long postId, Long id) {
+		if (!postRepository.existsById(postId)) {
+			throw new ResourceNotFoundException(POST_STR, ID_STR, postId);
+		}
+		return commentRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(COMMENT_STR, ID_STR, id));
 	}
 }
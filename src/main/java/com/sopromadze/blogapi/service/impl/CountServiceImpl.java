@@ -0,0 +1,33 @@
+package com.sopromadze.blogapi.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sopromadze.blogapi.service.CountService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Totals are served from memory for {@code app.countCacheTtlInMs}, so they may lag
+ * behind inserts and deletes by up to that long. List endpoints only ask for them
+ * when the client requests {@code withTotal=true}.
+ */
+@Service
+public class CountServiceImpl implements CountService {
+	private final Cache<String, Long> counts;
+
+	public CountServiceImpl(@Value("${app.countCacheTtlInMs:60000}") long ttlInMs,
+			@Value("${app.countCacheMaxSize:10000}") long maxSize) {
+		this.counts = Caffeine.newBuilder()
+				.expireAfterWrite(ttlInMs, TimeUnit.MILLISECONDS)
+				.maximumSize(maxSize)
+				.build();
+	}
+
+	@Override
+	public long count(String key, LongSupplier counter) {
+		return counts.get(key, k -> counter.getAsLong());
+	}
+}
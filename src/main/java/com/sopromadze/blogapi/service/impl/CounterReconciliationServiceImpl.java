@@ -0,0 +1,52 @@
+package com.sopromadze.blogapi.service.impl;
+
+import com.sopromadze.blogapi.repository.PostRepository;
+import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.service.CounterReconciliationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Recounts {@code users.post_count} and {@code posts.comment_count} every
+ * {@code app.counterReconciliationIntervalInMs}. The services keep both current, but deleting a category or a user
+ * cascades to posts and comments without going through them. Each range of {@code app.counterReconciliationBatchSize}
+ * ids is fixed in its own short transaction, so the job never locks a whole table.
+ */
+@Service
+public class CounterReconciliationServiceImpl implements CounterReconciliationService {
+	private static final Logger LOGGER = LoggerFactory.getLogger(CounterReconciliationServiceImpl.class);
+
+	@Autowired
+	private PostRepository postRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Value("${app.counterReconciliationBatchSize:1000}")
+	private long batchSize;
+
+	@Override
+	@Scheduled(fixedDelayString = "${app.counterReconciliationIntervalInMs:3600000}",
+			initialDelayString = "${app.counterReconciliationIntervalInMs:3600000}")
+	public void reconcileCounters() {
+		long users = reconcile(userRepository.findMaxId(), userRepository::reconcilePostCounts);
+		long posts = reconcile(postRepository.findMaxId(), postRepository::reconcileCommentCounts);
+		if (users + posts > 0) {
+			LOGGER.info("Reconciled the post count of {} users and the comment count of {} posts", users, posts);
+		}
+	}
+
+	private long reconcile(Long maxId, LongBinaryOperator reconcileRange) {
+		long fixed = 0;
+		for (long after = 0; maxId != null && after < maxId; after += batchSize) {
+			fixed += reconcileRange.applyAsLong(after, after + batchSize);
+		}
+		return fixed;
+	}
+}
@@ -0,0 +1,18 @@
+package com.sopromadze.blogapi.service.impl;
+
+import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.service.OwnershipService;
+import org.springframework.stereotype.Service;
+
+/**
+ * Roles are resolved once when the {@link UserPrincipal} is built, so these checks do not
+ * touch the authority list.
+ */
+@Service
+public class OwnershipServiceImpl implements OwnershipService {
+
+	@Override
+	public boolean isOwnerOrAdmin(Long ownerId, UserPrincipal currentUser) {
+		return currentUser.getId().equals(ownerId) || currentUser.isAdmin();
+	}
+}
@@ -4,28 +4,38 @@ import com.sopromadze.blogapi.exception.ResourceNotFoundException;
 import com.sopromadze.blogapi.exception.UnauthorizedException;
 import com.sopromadze.blogapi.model.Album;
 import com.sopromadze.blogapi.model.Photo;
-import com.sopromadze.blogapi.model.role.RoleName;
 import com.sopromadze.blogapi.payload.ApiResponse;
-import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.BatchResponse;
+import com.sopromadze.blogapi.payload.BatchResult;
 import com.sopromadze.blogapi.payload.PhotoRequest;
 import com.sopromadze.blogapi.payload.PhotoResponse;
+import com.sopromadze.blogapi.payload.SlicedResponse;
 import com.sopromadze.blogapi.repository.AlbumRepository;
 import com.sopromadze.blogapi.repository.PhotoRepository;
 import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.service.CountService;
+import com.sopromadze.blogapi.service.OwnershipService;
 import com.sopromadze.blogapi.service.PhotoService;
 import com.sopromadze.blogapi.utils.AppConstants;
 import com.sopromadze.blogapi.utils.AppUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import javax.transaction.Transactional;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.sopromadze.blogapi.utils.AppConstants.ALBUM;
 import static com.sopromadze.blogapi.utils.AppConstants.CREATED_AT;
@@ -41,12 +51,18 @@ public class PhotoServiceImpl implements PhotoService {
 	@Autowired
 	private AlbumRepository albumRepository;
 
+	@Autowired
+	private CountService countService;
+
+	@Autowired
+	private OwnershipService ownershipService;
+
 	@Override
-	public PagedResponse<PhotoResponse> getAllPhotos(int page, int size) {
+	public SlicedResponse<PhotoResponse> getAllPhotos(int page, int size, boolean withTotal) {
 		AppUtils.validatePageNumberAndSize(page, size);
 
 		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, CREATED_AT);
-		Page<Photo> photos = photoRepository.findAll(pageable);
+		Slice<Photo> photos = photoRepository.findSliceBy(pageable);
 
 		List<PhotoResponse> photoResponses = new ArrayList<>(photos.getContent().size());
 		for (Photo photo : photos.getContent()) {
@@ -54,21 +70,22 @@ public class PhotoServiceImpl implements PhotoService {
 					photo.getThumbnailUrl(), photo.getAlbum().getId()));
 		}
 
-		if (photos.getNumberOfElements() == 0) {
-			return new PagedResponse<>(Collections.emptyList(), photos.getNumber(), photos.getSize(),
-					photos.getTotalElements(), photos.getTotalPages(), photos.isLast());
-		}
-		return new PagedResponse<>(photoResponses, photos.getNumber(), photos.getSize(), photos.getTotalElements(),
-				photos.getTotalPages(), photos.isLast());
+		List<PhotoResponse> content = photos.getNumberOfElements() == 0 ? Collections.emptyList() : photoResponses;
 
+		if (withTotal) {
+			return AppUtils.toPagedResponse(content, photos, countService.count("photos", photoRepository::count));
+		}
+		return AppUtils.toSlicedResponse(content, photos);
 	}
 
 	@Override
 	public PhotoResponse getPhoto(Long id) {
 		Photo photo = photoRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(PHOTO, ID, id));
 
-		return new PhotoResponse(photo.getId(), photo.getTitle(), photo.getUrl(),
+		PhotoResponse photoResponse = new PhotoResponse(photo.getId(), photo.getTitle(), photo.getUrl(),
 				photo.getThumbnailUrl(), photo.getAlbum().getId());
+		photoResponse.setViews(photo.getViews());
+		return photoResponse;
 	}
 
 	@Override
@@ -76,8 +93,7 @@ public class PhotoServiceImpl implements PhotoService {
 		Album album = albumRepository.findById(photoRequest.getAlbumId())
 				.orElseThrow(() -> new ResourceNotFoundException(ALBUM, ID, photoRequest.getAlbumId()));
 		Photo photo = photoRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(PHOTO, ID, id));
-		if (photo.getAlbum().getUser().getId().equals(currentUser.getId())
-				|| currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+		if (ownershipService.isOwnerOrAdmin(photo.getAlbum().getUser().getId(), currentUser)) {
 			photo.setTitle(photoRequest.getTitle());
 			photo.setThumbnailUrl(photoRequest.getThumbnailUrl());
 			photo.setAlbum(album);
@@ -111,8 +127,7 @@ public class PhotoServiceImpl implements PhotoService {
 	@Override
 	public ApiResponse deletePhoto(Long id, UserPrincipal currentUser) {
 		Photo photo = photoRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(PHOTO, ID, id));
-		if (photo.getAlbum().getUser().getId().equals(currentUser.getId())
-				|| currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+		if (ownershipService.isOwnerOrAdmin(photo.getAlbum().getUser().getId(), currentUser)) {
 			photoRepository.deleteById(id);
 			return new ApiResponse(Boolean.TRUE, "Photo deleted successfully");
 		}
@@ -123,12 +138,67 @@ public class PhotoServiceImpl implements PhotoService {
 	}
 
 	@Override
-	public PagedResponse<PhotoResponse> getAllPhotosByAlbum(Long albumId, int page, int size) {
+	@Transactional
+	public BatchResponse<PhotoResponse> addPhotos(List<PhotoRequest> photoRequests, UserPrincipal currentUser) {
+		Set<Long> albumIds = photoRequests.stream().map(PhotoRequest::getAlbumId).collect(Collectors.toSet());
+		Map<Long, Album> albums = albumRepository.findAllById(albumIds).stream()
+				.collect(Collectors.toMap(Album::getId, Function.identity()));
+
+		List<BatchResult<PhotoResponse>> results = new ArrayList<>(photoRequests.size());
+		Map<Integer, Photo> photos = new LinkedHashMap<>();
+		for (PhotoRequest photoRequest : photoRequests) {
+			Album album = albums.get(photoRequest.getAlbumId());
+			if (album == null) {
+				results.add(BatchResult.notFound(ALBUM, photoRequest.getAlbumId()));
+			} else if (!album.getUser().getId().equals(currentUser.getId())) {
+				results.add(BatchResult.failure(null, HttpStatus.UNAUTHORIZED, "You don't have permission to add photo in this album"));
+			} else {
+				photos.put(results.size(), new Photo(photoRequest.getTitle(), photoRequest.getUrl(),
+						photoRequest.getThumbnailUrl(), album));
+				results.add(null);
+			}
+		}
+
+		photoRepository.saveAll(photos.values());
+		photos.forEach((index, photo) -> results.set(index, BatchResult.success(photo.getId(), HttpStatus.CREATED,
+				new PhotoResponse(photo.getId(), photo.getTitle(), photo.getUrl(), photo.getThumbnailUrl(), photo.getAlbum().getId()))));
+		return new BatchResponse<>(results);
+	}
+
+	@Override
+	@Transactional
+	public BatchResponse<PhotoResponse> deletePhotos(List<Long> ids, UserPrincipal currentUser) {
+		Set<Long> distinctIds = new LinkedHashSet<>(ids);
+		Map<Long, Photo> photos = photoRepository.findAllWithAlbumByIdIn(distinctIds).stream()
+				.collect(Collectors.toMap(Photo::getId, Function.identity()));
+
+		List<BatchResult<PhotoResponse>> results = new ArrayList<>(distinctIds.size());
+		List<Photo> deleted = new ArrayList<>(distinctIds.size());
+		for (Long id : distinctIds) {
+			Photo photo = photos.get(id);
+			if (photo == null) {
+				results.add(BatchResult.notFound(PHOTO, id));
+			} else if (!ownershipService.isOwnerOrAdmin(photo.getAlbum().getUser().getId(), currentUser)) {
+				results.add(BatchResult.failure(id, HttpStatus.UNAUTHORIZED, "You don't have permission to delete this photo"));
+			} else {
+				deleted.add(photo);
+				results.add(BatchResult.success(id, HttpStatus.OK, null));
+			}
+		}
+
+		if (!deleted.isEmpty()) {
+			photoRepository.deleteInBatch(deleted);
+		}
+		return new BatchResponse<>(results);
+	}
+
+	@Override
+	public SlicedResponse<PhotoResponse> getAllPhotosByAlbum(Long albumId, int page, int size, boolean withTotal) {
 		AppUtils.validatePageNumberAndSize(page, size);
 
 		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, AppConstants.CREATED_AT);
 
-		Page<Photo> photos = photoRepository.findByAlbumId(albumId, pageable);
+		Slice<Photo> photos = photoRepository.findSliceByAlbumId(albumId, pageable);
 
 		List<PhotoResponse> photoResponses = new ArrayList<>(photos.getContent().size());
 		for (Photo photo : photos.getContent()) {
@@ -136,7 +206,10 @@ public class PhotoServiceImpl implements PhotoService {
 					photo.getThumbnailUrl(), photo.getAlbum().getId()));
 		}
 
-		return new PagedResponse<>(photoResponses, photos.getNumber(), photos.getSize(), photos.getTotalElements(),
-				photos.getTotalPages(), photos.isLast());
+		if (withTotal) {
+			return AppUtils.toPagedResponse(photoResponses, photos,
+					countService.count("photos:album:" + albumId, () -> photoRepository.countByAlbumId(albumId)));
+		}
+		return AppUtils.toSlicedResponse(photoResponses, photos);
 	}
 }
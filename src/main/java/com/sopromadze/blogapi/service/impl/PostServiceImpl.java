@@ -1,36 +1,51 @@
 package com.sopromadze.blogapi.service.impl;
 
+import com.sopromadze.blogapi.exception.AppException;
 import com.sopromadze.blogapi.exception.BadRequestException;
 import com.sopromadze.blogapi.exception.ResourceNotFoundException;
 import com.sopromadze.blogapi.exception.UnauthorizedException;
 import com.sopromadze.blogapi.model.Category;
 import com.sopromadze.blogapi.model.Post;
 import com.sopromadze.blogapi.model.Tag;
-import com.sopromadze.blogapi.model.role.RoleName;
 import com.sopromadze.blogapi.model.user.User;
 import com.sopromadze.blogapi.payload.ApiResponse;
-import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.CursorPagedResponse;
 import com.sopromadze.blogapi.payload.PostRequest;
 import com.sopromadze.blogapi.payload.PostResponse;
+import com.sopromadze.blogapi.payload.PostSummary;
+import com.sopromadze.blogapi.payload.ResourceVersion;
+import com.sopromadze.blogapi.payload.SlicedResponse;
 import com.sopromadze.blogapi.repository.CategoryRepository;
 import com.sopromadze.blogapi.repository.PostRepository;
 import com.sopromadze.blogapi.repository.TagRepository;
 import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.search.PostSearchIndex;
 import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.service.CountService;
+import com.sopromadze.blogapi.service.OwnershipService;
 import com.sopromadze.blogapi.service.PostService;
+import com.sopromadze.blogapi.service.TrendingService;
+import com.sopromadze.blogapi.service.ViewCountService;
 import com.sopromadze.blogapi.utils.AppConstants;
 import com.sopromadze.blogapi.utils.AppUtils;
+import com.sopromadze.blogapi.utils.SeekCursor;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
+import javax.transaction.Transactional;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.sopromadze.blogapi.utils.AppConstants.CATEGORY;
 import static com.sopromadze.blogapi.utils.AppConstants.CREATED_AT;
@@ -53,62 +68,134 @@ public class PostServiceImpl implements PostService {
 	@Autowired
 	private TagRepository tagRepository;
 
+	@Autowired
+	private CountService countService;
+
+	@Autowired
+	private OwnershipService ownershipService;
+
+	@Autowired
+	private PostSearchIndex postSearchIndex;
+
+	@Autowired
+	private ViewCountService viewCountService;
+
+	@Autowired
+	private TrendingService trendingService;
+
 	@Override
-	public PagedResponse<Post> getAllPosts(int page, int size) {
+	public SlicedResponse<PostSummary> getAllPosts(int page, int size, boolean withTotal) {
 		validatePageNumberAndSize(page, size);
 
 		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, CREATED_AT);
 
-		Page<Post> posts = postRepository.findAll(pageable);
+		Slice<PostSummary> posts = postRepository.findSummaries(pageable);
 
-		List<Post> content = posts.getNumberOfElements() == 0 ? Collections.emptyList() : posts.getContent();
+		List<PostSummary> content = withTagNames(posts.getContent());
 
-		return new PagedResponse<>(content, posts.getNumber(), posts.getSize(), posts.getTotalElements(),
-				posts.getTotalPages(), posts.isLast());
+		if (withTotal) {
+			return AppUtils.toPagedResponse(content, posts, countService.count("posts", postRepository::count));
+		}
+		return AppUtils.toSlicedResponse(content, posts);
 	}
 
 	@Override
-	public PagedResponse<Post> getPostsByCreatedBy(String username, int page, int size) {
+	public SlicedResponse<PostSummary> getPostsByCreatedBy(String username, int page, int size, boolean withTotal) {
 		validatePageNumberAndSize(page, size);
 		User user = userRepository.getUserByName(username);
 		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, CREATED_AT);
-		Page<Post> posts = postRepository.findByCreatedBy(user.getId(), pageable);
+		Slice<PostSummary> posts = postRepository.findSummariesByCreatedBy(user.getId(), pageable);
 
-		List<Post> content = posts.getNumberOfElements() == 0 ? Collections.emptyList() : posts.getContent();
+		List<PostSummary> content = withTagNames(posts.getContent());
 
-		return new PagedResponse<>(content, posts.getNumber(), posts.getSize(), posts.getTotalElements(),
-				posts.getTotalPages(), posts.isLast());
+		if (withTotal) {
+			return AppUtils.toPagedResponse(content, posts, user.getPostCount());
+		}
+		return AppUtils.toSlicedResponse(content, posts);
 	}
 
 	@Override
-	public PagedResponse<Post> getPostsByCategory(Long id, int page, int size) {
+	public SlicedResponse<PostSummary> getPostsByCategory(Long id, int page, int size, boolean withTotal) {
 		AppUtils.validatePageNumberAndSize(page, size);
 		Category category = categoryRepository.findById(id)
 				.orElseThrow(() -> new ResourceNotFoundException(CATEGORY, ID, id));
 
 		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, CREATED_AT);
-		Page<Post> posts = postRepository.findByCategory(category.getId(), pageable);
+		Slice<PostSummary> posts = postRepository.findSummariesByCategory(category.getId(), pageable);
 
-		List<Post> content = posts.getNumberOfElements() == 0 ? Collections.emptyList() : posts.getContent();
+		List<PostSummary> content = withTagNames(posts.getContent());
 
-		return new PagedResponse<>(content, posts.getNumber(), posts.getSize(), posts.getTotalElements(),
-				posts.getTotalPages(), posts.isLast());
+		if (withTotal) {
+			return AppUtils.toPagedResponse(content, posts,
+					countService.count("posts:category:" + id, () -> postRepository.countByCategoryId(id)));
+		}
+		return AppUtils.toSlicedResponse(content, posts);
 	}
 
 	@Override
-	public PagedResponse<Post> getPostsByTag(Long id, int page, int size) {
+	public SlicedResponse<PostSummary> getPostsByTag(Long id, int page, int size, boolean withTotal) {
 		AppUtils.validatePageNumberAndSize(page, size);
 
 		Tag tag = tagRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(TAG, ID, id));
 
 		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, CREATED_AT);
 
-		Page<Post> posts = postRepository.findByTags(Collections.singletonList(tag), pageable);
+		Slice<PostSummary> posts = postRepository.findSummariesByTag(tag.getId(), pageable);
+
+		List<PostSummary> content = withTagNames(posts.getContent());
+
+		if (withTotal) {
+			return AppUtils.toPagedResponse(content, posts,
+					countService.count("posts:tag:" + id, () -> postRepository.countByTagId(id)));
+		}
+		return AppUtils.toSlicedResponse(content, posts);
+	}
+
+	@Override
+	public CursorPagedResponse<PostSummary> getAllPosts(String after, int size) {
+		AppUtils.validatePageSize(size);
+		SeekCursor cursor = SeekCursor.decode(after);
+
+		List<PostSummary> posts = postRepository.findSummariesAfter(cursor.getCreatedAt(), cursor.getId(), PageRequest.of(0, size + 1));
+
+		return toCursorPagedResponse(posts, size);
+	}
+
+	@Override
+	public CursorPagedResponse<PostSummary> getPostsByCreatedBy(String username, String after, int size) {
+		AppUtils.validatePageSize(size);
+		SeekCursor cursor = SeekCursor.decode(after);
+		User user = userRepository.getUserByName(username);
+
+		List<PostSummary> posts = postRepository.findSummariesByCreatedByAfter(user.getId(), cursor.getCreatedAt(), cursor.getId(),
+				PageRequest.of(0, size + 1));
+
+		return toCursorPagedResponse(posts, size);
+	}
+
+	@Override
+	public CursorPagedResponse<PostSummary> getPostsByCategory(Long id, String after, int size) {
+		AppUtils.validatePageSize(size);
+		SeekCursor cursor = SeekCursor.decode(after);
+		Category category = categoryRepository.findById(id)
+				.orElseThrow(() -> new ResourceNotFoundException(CATEGORY, ID, id));
+
+		List<PostSummary> posts = postRepository.findSummariesByCategoryAfter(category.getId(), cursor.getCreatedAt(), cursor.getId(),
+				PageRequest.of(0, size + 1));
 
-		List<Post> content = posts.getNumberOfElements() == 0 ? Collections.emptyList() : posts.getContent();
+		return toCursorPagedResponse(posts, size);
+	}
+
+	@Override
+	public CursorPagedResponse<PostSummary> getPostsByTag(Long id, String after, int size) {
+		AppUtils.validatePageSize(size);
+		SeekCursor cursor = SeekCursor.decode(after);
+		Tag tag = tagRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(TAG, ID, id));
+
+		List<PostSummary> posts = postRepository.findSummariesByTagAfter(tag.getId(), cursor.getCreatedAt(), cursor.getId(),
+				PageRequest.of(0, size + 1));
 
-		return new PagedResponse<>(content, posts.getNumber(), posts.getSize(), posts.getTotalElements(),
-				posts.getTotalPages(), posts.isLast());
+		return toCursorPagedResponse(posts, size);
 	}
 
 	@Override
@@ -116,12 +203,17 @@ public class PostServiceImpl implements PostService {
 		Post post = postRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(POST, ID, id));
 		Category category = categoryRepository.findById(newPostRequest.getCategoryId())
 				.orElseThrow(() -> new ResourceNotFoundException(CATEGORY, ID, newPostRequest.getCategoryId()));
-		if (post.getUser().getId().equals(currentUser.getId())
-				|| currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+		if (ownershipService.isOwnerOrAdmin(post.getUser().getId(), currentUser)) {
 			post.setTitle(newPostRequest.getTitle());
 			post.setBody(newPostRequest.getBody());
 			post.setCategory(category);
-			return postRepository.save(post);
+			Post updatedPost = postRepository.save(post);
+
+			List<String> tagNames = postRepository.findTagNamesByPostIdIn(Collections.singletonList(id)).stream()
+					.map(PostRepository.TagName::getName).collect(Collectors.toList());
+			AppUtils.runAfterCommit(
+					() -> postSearchIndex.index(id, updatedPost.getTitle(), updatedPost.getBody(), tagNames));
+			return updatedPost;
 		}
 		ApiResponse apiResponse = new ApiResponse(Boolean.FALSE, "You don't have permission to edit this post");
 
@@ -129,11 +221,14 @@ public class PostServiceImpl implements PostService {
 	}
 
 	@Override
+	@Transactional
 	public ApiResponse deletePost(Long id, UserPrincipal currentUser) {
 		Post post = postRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(POST, ID, id));
-		if (post.getUser().getId().equals(currentUser.getId())
-				|| currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+		if (ownershipService.isOwnerOrAdmin(post.getUser().getId(), currentUser)) {
 			postRepository.deleteById(id);
+			userRepository.addToPostCount(post.getUser().getId(), -1);
+			AppUtils.runAfterCommit(() -> postSearchIndex.delete(id));
+			AppUtils.runAfterCommit(() -> trendingService.removePost(id));
 			return new ApiResponse(Boolean.TRUE, "You successfully deleted post");
 		}
 
@@ -143,20 +238,14 @@ public class PostServiceImpl implements PostService {
 	}
 
 	@Override
+	@Transactional
 	public PostResponse addPost(PostRequest postRequest, UserPrincipal currentUser) {
 		User user = userRepository.findById(currentUser.getId())
 				.orElseThrow(() -> new ResourceNotFoundException(USER, ID, 1L));
 		Category category = categoryRepository.findById(postRequest.getCategoryId())
 				.orElseThrow(() -> new ResourceNotFoundException(CATEGORY, ID, postRequest.getCategoryId()));
 
-		List<Tag> tags = new ArrayList<>(postRequest.getTags().size());
-
-		for (String name : postRequest.getTags()) {
-			Tag tag = tagRepository.findByName(name);
-			tag = tag == null ? tagRepository.save(new Tag(name)) : tag;
-
-			tags.add(tag);
-		}
+		List<Tag> tags = resolveTags(postRequest.getTags(), user.getId());
 
 		Post post = new Post();
 		post.setBody(postRequest.getBody());
@@ -166,6 +255,7 @@ public class PostServiceImpl implements PostService {
 		post.setTags(tags);
 
 		Post newPost = postRepository.save(post);
+		userRepository.addToPostCount(user.getId(), 1);
 
 		PostResponse postResponse = new PostResponse();
 
@@ -181,12 +271,122 @@ public class PostServiceImpl implements PostService {
 
 		postResponse.setTags(tagNames);
 
+		AppUtils.runAfterCommit(
+				() -> postSearchIndex.index(newPost.getId(), newPost.getTitle(), newPost.getBody(), tagNames));
+
 		return postResponse;
 	}
 
 	@Override
 	public Post getPost(Long id) {
-		return postRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(POST, ID, id));
+		return postRepository.findWithCategoryAndTagsById(id).orElseThrow(() -> new ResourceNotFoundException(POST, ID, id));
+	}
+
+	@Override
+	public ResourceVersion getPostVersion(Long id) {
+		return postRepository.findVersionById(id).orElseThrow(() -> new ResourceNotFoundException(POST, ID, id));
+	}
+
+	@Override
+	public SlicedResponse<PostSummary> searchPosts(String query, int page, int size) {
+		validatePageNumberAndSize(page, size);
+		if (!StringUtils.hasText(query)) {
+			throw new BadRequestException("Search query must not be empty.");
+		}
+		if ((long) (page + 1) * size > AppConstants.MAX_SEARCH_RESULTS) {
+			throw new BadRequestException("Search results are limited to the first " + AppConstants.MAX_SEARCH_RESULTS);
+		}
+
+		List<Long> ids = postSearchIndex.search(query, page * size, size + 1);
+		boolean last = ids.size() <= size;
+		if (!last) {
+			ids = ids.subList(0, size);
+		}
+
+		return new SlicedResponse<>(withTagNames(findSummariesInOrder(ids)), page, size, last);
+	}
+
+	@Override
+	public List<PostSummary> getMostViewedPosts(int size) {
+		AppUtils.validatePageSize(size);
+
+		return withTagNames(findSummariesInOrder(viewCountService.getMostViewedPostIds(size)));
+	}
+
+	@Override
+	public List<PostSummary> getTrendingPosts(int size) {
+		AppUtils.validatePageSize(size);
+
+		return withTagNames(findSummariesInOrder(trendingService.getTrendingPostIds(size)));
+	}
+
+	/**
+	 * Summaries of the posts that still exist, in the order of {@code ids}.
+	 */
+	private List<PostSummary> findSummariesInOrder(List<Long> ids) {
+		if (ids.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		Map<Long, PostSummary> postsById = postRepository.findSummariesByIdIn(ids).stream()
+				.collect(Collectors.toMap(PostSummary::getId, Function.identity()));
+		return ids.stream().map(postsById::get).filter(Objects::nonNull).collect(Collectors.toList());
+	}
+
+	private List<Tag> resolveTags(List<String> names, Long userId) {
+		if (names == null || names.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		List<String> distinctNames = names.stream().map(Tag::normalizeName).distinct().collect(Collectors.toList());
+		Map<String, Tag> tagsByName = new HashMap<>();
+		tagRepository.findByNameIn(distinctNames).forEach(tag -> tagsByName.put(tag.getName(), tag));
+
+		List<String> missing = distinctNames.stream().filter(name -> !tagsByName.containsKey(name))
+				.collect(Collectors.toList());
+		if (!missing.isEmpty()) {
+			tagRepository.insertIgnoringDuplicates(missing, userId);
+			// Names another post committed since the first read are skipped by the insert and not in this snapshot
+			tagRepository.findLockedByNameIn(missing).forEach(tag -> tagsByName.put(tag.getName(), tag));
+		}
+
+		List<Tag> tags = new ArrayList<>(distinctNames.size());
+		for (String name : distinctNames) {
+			Tag tag = tagsByName.get(name);
+			if (tag == null) {
+				throw new AppException("Tag " + name + " was neither found nor inserted");
+			}
+			tags.add(tag);
+		}
+		return tags;
+	}
+
+	private CursorPagedResponse<PostSummary> toCursorPagedResponse(List<PostSummary> posts, int size) {
+		if (posts.size() <= size) {
+			return new CursorPagedResponse<>(withTagNames(posts), size, null, true);
+		}
+
+		List<PostSummary> content = withTagNames(posts.subList(0, size));
+		PostSummary lastPost = content.get(content.size() - 1);
+		String next = SeekCursor.of(lastPost.getCreatedAt(), lastPost.getId()).encode();
+
+		return new CursorPagedResponse<>(content, size, next, false);
+	}
+
+	private List<PostSummary> withTagNames(List<PostSummary> posts) {
+		if (posts.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		List<Long> postIds = posts.stream().map(PostSummary::getId).collect(Collectors.toList());
+		Map<Long, List<String>> tagNames = postRepository.findTagNamesByPostIdIn(postIds).stream()
+				.collect(Collectors.groupingBy(PostRepository.TagName::getPostId,
+						Collectors.mapping(PostRepository.TagName::getName, Collectors.toList())));
+
+		for (PostSummary post : posts) {
+			post.setTags(tagNames.getOrDefault(post.getId(), Collections.emptyList()));
+		}
+		return posts;
 	}
 
 	private void validatePageNumberAndSize(int page, int size) {
@@ -1,43 +1,57 @@
 package com.sopromadze.blogapi.service.impl;
 
+import com.sopromadze.blogapi.exception.BadRequestException;
 import com.sopromadze.blogapi.exception.ResourceNotFoundException;
 import com.sopromadze.blogapi.exception.UnauthorizedException;
 import com.sopromadze.blogapi.model.Tag;
-import com.sopromadze.blogapi.model.role.RoleName;
 import com.sopromadze.blogapi.payload.ApiResponse;
-import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.SlicedResponse;
 import com.sopromadze.blogapi.repository.TagRepository;
 import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.service.CountService;
+import com.sopromadze.blogapi.service.OwnershipService;
 import com.sopromadze.blogapi.service.TagService;
 import com.sopromadze.blogapi.utils.AppUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
 import java.util.List;
 
+import static com.sopromadze.blogapi.config.CacheConfig.TAG_PAGES;
+
 @Service
 public class TagServiceImpl implements TagService {
 
 	@Autowired
 	private TagRepository tagRepository;
 
+	@Autowired
+	private CountService countService;
+
+	@Autowired
+	private OwnershipService ownershipService;
+
 	@Override
-	public PagedResponse<Tag> getAllTags(int page, int size) {
+	@Cacheable(cacheNames = TAG_PAGES, key = "#page + ':' + #size + ':' + #withTotal")
+	public SlicedResponse<Tag> getAllTags(int page, int size, boolean withTotal) {
 		AppUtils.validatePageNumberAndSize(page, size);
 
 		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, "createdAt");
 
-		Page<Tag> tags = tagRepository.findAll(pageable);
+		Slice<Tag> tags = tagRepository.findSliceBy(pageable);
 
 		List<Tag> content = tags.getNumberOfElements() == 0 ? Collections.emptyList() : tags.getContent();
 
-		return new PagedResponse<>(content, tags.getNumber(), tags.getSize(), tags.getTotalElements(), tags.getTotalPages(), tags.isLast());
+		if (withTotal) {
+			return AppUtils.toPagedResponse(content, tags, countService.count("tags", tagRepository::count));
+		}
+		return AppUtils.toSlicedResponse(content, tags);
 	}
 
 	@Override
@@ -47,14 +61,15 @@ public class TagServiceImpl implements TagService {
 
 	@Override
 	public Tag addTag(Tag tag, UserPrincipal currentUser) {
+		checkNameIsFree(tag.getName(), null);
 		return tagRepository.save(tag);
 	}
 
 	@Override
 	public Tag updateTag(Long id, Tag newTag, UserPrincipal currentUser) {
-		Tag tag = tagRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Tag", "id", id));
-		if (tag.getCreatedBy().equals(currentUser.getId()) || currentUser.getAuthorities()
-				.contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+		Tag tag = tagRepository.findUncachedById(id).orElseThrow(() -> new ResourceNotFoundException("Tag", "id", id));
+		if (ownershipService.isOwnerOrAdmin(tag.getCreatedBy(), currentUser)) {
+			checkNameIsFree(newTag.getName(), id);
 			tag.setName(newTag.getName());
 			return tagRepository.save(tag);
 		}
@@ -66,8 +81,7 @@ public class TagServiceImpl implements TagService {
 	@Override
 	public ApiResponse deleteTag(Long id, UserPrincipal currentUser) {
 		Tag tag = tagRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Tag", "id", id));
-		if (tag.getCreatedBy().equals(currentUser.getId()) || currentUser.getAuthorities()
-				.contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+		if (ownershipService.isOwnerOrAdmin(tag.getCreatedBy(), currentUser)) {
 			tagRepository.deleteById(id);
 			return new ApiResponse(Boolean.TRUE, "You successfully deleted tag");
 		}
@@ -76,6 +90,13 @@ public class TagServiceImpl implements TagService {
 
 		throw new UnauthorizedException(apiResponse);
 	}
+
+	private void checkNameIsFree(String name, Long id) {
+		Tag existing = tagRepository.findByName(Tag.normalizeName(name));
+		if (existing != null && !existing.getId().equals(id)) {
+			throw new BadRequestException("Tag " + existing.getName() + " already exists");
+		}
+	}
 }
 
 
@@ -6,21 +6,37 @@ import com.sopromadze.blogapi.exception.UnauthorizedException;
 import com.sopromadze.blogapi.model.Todo;
 import com.sopromadze.blogapi.model.user.User;
 import com.sopromadze.blogapi.payload.ApiResponse;
-import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.BatchResponse;
+import com.sopromadze.blogapi.payload.BatchResult;
+import com.sopromadze.blogapi.payload.SlicedResponse;
 import com.sopromadze.blogapi.repository.TodoRepository;
 import com.sopromadze.blogapi.repository.UserRepository;
 import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.service.CountService;
 import com.sopromadze.blogapi.service.TodoService;
 import com.sopromadze.blogapi.utils.AppConstants;
+import com.sopromadze.blogapi.utils.AppUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import javax.transaction.Transactional;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 
 import static com.sopromadze.blogapi.utils.AppConstants.CREATED_AT;
 import static com.sopromadze.blogapi.utils.AppConstants.ID;
@@ -36,62 +52,56 @@ public class TodoServiceImpl implements TodoService {
 	@Autowired
 	private UserRepository userRepository;
 
+	@Autowired
+	private CountService countService;
+
 	@Override
+	@Transactional
 	public Todo completeTodo(Long id, UserPrincipal currentUser) {
-		Todo todo = todoRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(TODO, ID, id));
-
-		User user = userRepository.getUser(currentUser);
-
-		if (todo.getUser().getId().equals(user.getId())) {
-			todo.setCompleted(Boolean.TRUE);
-			return todoRepository.save(todo);
+		if (todoRepository.updateCompletedByIdAndUserId(id, currentUser.getId(), Boolean.TRUE, Instant.now()) == 0) {
+			throw notFoundOrUnauthorized(id);
 		}
 
-		ApiResponse apiResponse = new ApiResponse(Boolean.FALSE, YOU_DON_T_HAVE_PERMISSION_TO_MAKE_THIS_OPERATION);
-
-		throw new UnauthorizedException(apiResponse);
+		return findTodo(id);
 	}
 
 	@Override
+	@Transactional
 	public Todo unCompleteTodo(Long id, UserPrincipal currentUser) {
-		Todo todo = todoRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(TODO, ID, id));
-		User user = userRepository.getUser(currentUser);
-		if (todo.getUser().getId().equals(user.getId())) {
-			todo.setCompleted(Boolean.FALSE);
-			return todoRepository.save(todo);
+		if (todoRepository.updateCompletedByIdAndUserId(id, currentUser.getId(), Boolean.FALSE, Instant.now()) == 0) {
+			throw notFoundOrUnauthorized(id);
 		}
 
-		ApiResponse apiResponse = new ApiResponse(Boolean.FALSE, YOU_DON_T_HAVE_PERMISSION_TO_MAKE_THIS_OPERATION);
-
-		throw new UnauthorizedException(apiResponse);
+		return findTodo(id);
 	}
 
 	@Override
-	public PagedResponse<Todo> getAllTodos(UserPrincipal currentUser, int page, int size) {
+	public SlicedResponse<Todo> getAllTodos(UserPrincipal currentUser, int page, int size, boolean withTotal) {
 		validatePageNumberAndSize(page, size);
 		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, CREATED_AT);
 
-		Page<Todo> todos = todoRepository.findByCreatedBy(currentUser.getId(), pageable);
+		Slice<Todo> todos = todoRepository.findSliceByCreatedBy(currentUser.getId(), pageable);
 
 		List<Todo> content = todos.getNumberOfElements() == 0 ? Collections.emptyList() : todos.getContent();
 
-		return new PagedResponse<>(content, todos.getNumber(), todos.getSize(), todos.getTotalElements(),
-				todos.getTotalPages(), todos.isLast());
+		if (withTotal) {
+			return AppUtils.toPagedResponse(content, todos,
+					countService.count("todos:user:" + currentUser.getId(), () -> todoRepository.countByCreatedBy(currentUser.getId())));
+		}
+		return AppUtils.toSlicedResponse(content, todos);
 	}
 
 	@Override
 	public Todo addTodo(Todo todo, UserPrincipal currentUser) {
-		User user = userRepository.getUser(currentUser);
-		todo.setUser(user);
+		todo.setUser(userRepository.getOne(currentUser.getId()));
 		return todoRepository.save(todo);
 	}
 
 	@Override
 	public Todo getTodo(Long id, UserPrincipal currentUser) {
-		User user = userRepository.getUser(currentUser);
-		Todo todo = todoRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(TODO, ID, id));
+		Todo todo = findTodo(id);
 
-		if (todo.getUser().getId().equals(user.getId())) {
+		if (todo.getUser().getId().equals(currentUser.getId())) {
 			return todo;
 		}
 
@@ -101,33 +111,127 @@ public class TodoServiceImpl implements TodoService {
 	}
 
 	@Override
+	@Transactional
 	public Todo updateTodo(Long id, Todo newTodo, UserPrincipal currentUser) {
-		User user = userRepository.getUser(currentUser);
-		Todo todo = todoRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(TODO, ID, id));
-		if (todo.getUser().getId().equals(user.getId())) {
-			todo.setTitle(newTodo.getTitle());
-			todo.setCompleted(newTodo.getCompleted());
-			return todoRepository.save(todo);
+		if (todoRepository.updateByIdAndUserId(id, currentUser.getId(), newTodo.getTitle(), newTodo.getCompleted(),
+				Instant.now()) == 0) {
+			throw notFoundOrUnauthorized(id);
 		}
 
-		ApiResponse apiResponse = new ApiResponse(Boolean.FALSE, YOU_DON_T_HAVE_PERMISSION_TO_MAKE_THIS_OPERATION);
-
-		throw new UnauthorizedException(apiResponse);
+		return findTodo(id);
 	}
 
 	@Override
+	@Transactional
 	public ApiResponse deleteTodo(Long id, UserPrincipal currentUser) {
-		User user = userRepository.getUser(currentUser);
-		Todo todo = todoRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(TODO, ID, id));
+		if (todoRepository.deleteByIdAndUserId(id, currentUser.getId()) == 0) {
+			throw notFoundOrUnauthorized(id);
+		}
+
+		return new ApiResponse(Boolean.TRUE, "You successfully deleted todo");
+	}
 
-		if (todo.getUser().getId().equals(user.getId())) {
-			todoRepository.deleteById(id);
-			return new ApiResponse(Boolean.TRUE, "You successfully deleted todo");
+	@Override
+	@Transactional
+	public BatchResponse<Todo> addTodos(List<Todo> todos, UserPrincipal currentUser) {
+		User user = userRepository.getOne(currentUser.getId());
+		for (Todo todo : todos) {
+			todo.setId(null);
+			todo.setUser(user);
+		}
+
+		List<BatchResult<Todo>> results = new ArrayList<>(todos.size());
+		for (Todo todo : todoRepository.saveAll(todos)) {
+			results.add(BatchResult.success(todo.getId(), HttpStatus.CREATED, todo));
+		}
+		return new BatchResponse<>(results);
+	}
+
+	@Override
+	@Transactional
+	public BatchResponse<Todo> updateTodos(List<Todo> todos, UserPrincipal currentUser) {
+		Map<Long, Todo> changes = new LinkedHashMap<>();
+		List<BatchResult<Todo>> results = new ArrayList<>(todos.size());
+		for (Todo todo : todos) {
+			if (todo.getId() == null) {
+				results.add(BatchResult.failure(null, HttpStatus.BAD_REQUEST, "Todo id is required"));
+			} else {
+				changes.put(todo.getId(), todo);
+			}
+		}
+
+		results.addAll(forEachOwned(changes.keySet(), currentUser, todo -> {
+			Todo change = changes.get(todo.getId());
+			todo.setTitle(change.getTitle());
+			todo.setCompleted(change.getCompleted());
+			return todo;
+		}));
+		return new BatchResponse<>(results);
+	}
+
+	@Override
+	@Transactional
+	public BatchResponse<Todo> setTodosCompleted(List<Long> ids, boolean completed, UserPrincipal currentUser) {
+		return new BatchResponse<>(forEachOwned(ids, currentUser, todo -> {
+			todo.setCompleted(completed);
+			return todo;
+		}));
+	}
+
+	@Override
+	@Transactional
+	public BatchResponse<Todo> deleteTodos(List<Long> ids, UserPrincipal currentUser) {
+		List<Todo> deleted = new ArrayList<>(ids.size());
+		List<BatchResult<Todo>> results = forEachOwned(ids, currentUser, todo -> {
+			deleted.add(todo);
+			return null;
+		});
+
+		if (!deleted.isEmpty()) {
+			todoRepository.deleteInBatch(deleted);
+		}
+		return new BatchResponse<>(results);
+	}
+
+	/**
+	 * Loads all requested todos with one query and applies {@code action} to those owned by the current user.
+	 * Changes are flushed together at commit, which Hibernate sends as JDBC batches.
+	 */
+	private List<BatchResult<Todo>> forEachOwned(Collection<Long> ids, UserPrincipal currentUser,
+			UnaryOperator<Todo> action) {
+		Set<Long> distinctIds = new LinkedHashSet<>(ids);
+		Map<Long, Todo> todos = todoRepository.findAllById(distinctIds).stream()
+				.collect(Collectors.toMap(Todo::getId, Function.identity()));
+
+		List<BatchResult<Todo>> results = new ArrayList<>(distinctIds.size());
+		for (Long id : distinctIds) {
+			Todo todo = todos.get(id);
+			if (todo == null) {
+				results.add(BatchResult.notFound(TODO, id));
+			} else if (!todo.getUser().getId().equals(currentUser.getId())) {
+				results.add(BatchResult.failure(id, HttpStatus.UNAUTHORIZED, YOU_DON_T_HAVE_PERMISSION_TO_MAKE_THIS_OPERATION));
+			} else {
+				results.add(BatchResult.success(id, HttpStatus.OK, action.apply(todo)));
+			}
+		}
+		return results;
+	}
+
+	private Todo findTodo(Long id) {
+		return todoRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(TODO, ID, id));
+	}
+
+	/**
+	 * Only called after a conditional update or delete matched no row, to report why.
+	 */
+	private RuntimeException notFoundOrUnauthorized(Long id) {
+		if (!todoRepository.existsById(id)) {
+			return new ResourceNotFoundException(TODO, ID, id);
 		}
 
 		ApiResponse apiResponse = new ApiResponse(Boolean.FALSE, YOU_DON_T_HAVE_PERMISSION_TO_MAKE_THIS_OPERATION);
 
-		throw new UnauthorizedException(apiResponse);
+		return new UnauthorizedException(apiResponse);
 	}
 
 	private void validatePageNumberAndSize(int page, int size) {
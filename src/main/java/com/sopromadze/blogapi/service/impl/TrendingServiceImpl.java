@@ -0,0 +1,128 @@
+package com.sopromadze.blogapi.service.impl;
+
+import com.sopromadze.blogapi.service.TrendingService;
+import com.sopromadze.blogapi.utils.AppConstants;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Ranks posts by comments and views that fade with a half-life of {@code app.trendingHalfLifeInMs}. Every event moves
+ * one post in a sorted set of all scored posts, and the top {@link AppConstants#MAX_PAGE_SIZE} are then published as an
+ * immutable snapshot, so readers never lock or sort. Views arrive in the batches {@link ViewCountServiceImpl} flushes.
+ * Every {@code app.trendingDecayIntervalInMs} all scores are scaled down and the ones that faded out are dropped. A
+ * removed comment takes back its full weight, clamped at zero, although the comment itself may already have faded.
+ */
+@Service
+public class TrendingServiceImpl implements TrendingService {
+	private static final double MIN_SCORE = 0.01;
+
+	private final double commentWeight;
+
+	private final double viewWeight;
+
+	private final double decayFactor;
+
+	/**
+	 * Guarded by {@code this}, like {@link #ranking}, which orders by it.
+	 */
+	private final Map<Long, Double> scores = new HashMap<>();
+
+	private final TreeSet<Long> ranking = new TreeSet<>(
+			Comparator.comparing((Long id) -> scores.get(id)).reversed().thenComparing(Comparator.naturalOrder()));
+
+	private volatile List<Long> trendingPostIds = Collections.emptyList();
+
+	public TrendingServiceImpl(@Value("${app.trendingCommentWeight:10}") double commentWeight,
+			@Value("${app.trendingViewWeight:1}") double viewWeight,
+			@Value("${app.trendingHalfLifeInMs:21600000}") long halfLifeInMs,
+			@Value("${app.trendingDecayIntervalInMs:60000}") long decayIntervalInMs) {
+		this.commentWeight = commentWeight;
+		this.viewWeight = viewWeight;
+		this.decayFactor = Math.pow(0.5, (double) decayIntervalInMs / halfLifeInMs);
+	}
+
+	@Override
+	public synchronized void recordComments(Long postId, int count) {
+		add(postId, count * commentWeight);
+		publish();
+	}
+
+	@Override
+	public synchronized void recordViews(Map<Long, Long> viewsByPostId) {
+		if (viewsByPostId.isEmpty()) {
+			return;
+		}
+
+		viewsByPostId.forEach((postId, views) -> add(postId, views * viewWeight));
+		publish();
+	}
+
+	@Override
+	public synchronized void removePost(Long postId) {
+		if (scores.containsKey(postId)) {
+			ranking.remove(postId);
+			scores.remove(postId);
+			publish();
+		}
+	}
+
+	@Override
+	public List<Long> getTrendingPostIds(int limit) {
+		List<Long> ids = trendingPostIds;
+		return ids.subList(0, Math.min(limit, ids.size()));
+	}
+
+	/**
+	 * Scaling every score by the same factor keeps their order, but the set is still rebuilt rather than trusting that
+	 * to floating point.
+	 */
+	@Override
+	@Scheduled(fixedRateString = "${app.trendingDecayIntervalInMs:60000}")
+	public synchronized void decay() {
+		ranking.clear();
+		for (Iterator<Map.Entry<Long, Double>> it = scores.entrySet().iterator(); it.hasNext();) {
+			Map.Entry<Long, Double> entry = it.next();
+			double score = entry.getValue() * decayFactor;
+			if (score < MIN_SCORE) {
+				it.remove();
+			} else {
+				entry.setValue(score);
+			}
+		}
+		ranking.addAll(scores.keySet());
+		publish();
+	}
+
+	private void add(Long postId, double weight) {
+		Double score = scores.get(postId);
+		if (score != null) {
+			ranking.remove(postId);
+		}
+
+		double newScore = Math.max(0, (score == null ? 0 : score) + weight);
+		if (newScore < MIN_SCORE) {
+			scores.remove(postId);
+			return;
+		}
+		scores.put(postId, newScore);
+		ranking.add(postId);
+	}
+
+	private void publish() {
+		List<Long> ids = new ArrayList<>(AppConstants.MAX_PAGE_SIZE);
+		for (Iterator<Long> it = ranking.iterator(); it.hasNext() && ids.size() < AppConstants.MAX_PAGE_SIZE;) {
+			ids.add(it.next());
+		}
+		trendingPostIds = Collections.unmodifiableList(ids);
+	}
+}
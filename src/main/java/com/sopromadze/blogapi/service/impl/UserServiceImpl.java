@@ -16,14 +16,15 @@ import com.sopromadze.blogapi.payload.InfoRequest;
 import com.sopromadze.blogapi.payload.UserIdentityAvailability;
 import com.sopromadze.blogapi.payload.UserProfile;
 import com.sopromadze.blogapi.payload.UserSummary;
-import com.sopromadze.blogapi.repository.PostRepository;
 import com.sopromadze.blogapi.repository.RoleRepository;
 import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.security.TokenVersionCache;
 import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.security.UserPrincipalCache;
+import com.sopromadze.blogapi.service.OwnershipService;
 import com.sopromadze.blogapi.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -35,15 +36,21 @@ public class UserServiceImpl implements UserService {
 	@Autowired
 	private UserRepository userRepository;
 
-	@Autowired
-	private PostRepository postRepository;
-
 	@Autowired
 	private RoleRepository roleRepository;
 
 	@Autowired
 	private PasswordEncoder passwordEncoder;
 
+	@Autowired
+	private UserPrincipalCache userPrincipalCache;
+
+	@Autowired
+	private TokenVersionCache tokenVersionCache;
+
+	@Autowired
+	private OwnershipService ownershipService;
+
 	@Override
 	public UserSummary getCurrentUser(UserPrincipal currentUser) {
 		return new UserSummary(currentUser.getId(), currentUser.getUsername(), currentUser.getFirstName(),
@@ -66,11 +73,9 @@ public class UserServiceImpl implements UserService {
 	public UserProfile getUserProfile(String username) {
 		User user = userRepository.getUserByName(username);
 
-		Long postCount = postRepository.countByCreatedBy(user.getId());
-
 		return new UserProfile(user.getId(), user.getUsername(), user.getFirstName(), user.getLastName(),
 				user.getCreatedAt(), user.getEmail(), user.getAddress(), user.getPhone(), user.getWebsite(),
-				user.getCompany(), postCount);
+				user.getCompany(), user.getPostCount());
 	}
 
 	@Override
@@ -97,8 +102,7 @@ public class UserServiceImpl implements UserService {
 	@Override
 	public User updateUser(User newUser, String username, UserPrincipal currentUser) {
 		User user = userRepository.getUserByName(username);
-		if (user.getId().equals(currentUser.getId())
-				|| currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+		if (ownershipService.isOwnerOrAdmin(user.getId(), currentUser)) {
 			user.setFirstName(newUser.getFirstName());
 			user.setLastName(newUser.getLastName());
 			user.setPassword(passwordEncoder.encode(newUser.getPassword()));
@@ -106,8 +110,12 @@ public class UserServiceImpl implements UserService {
 			user.setPhone(newUser.getPhone());
 			user.setWebsite(newUser.getWebsite());
 			user.setCompany(newUser.getCompany());
+			user.setTokenVersion(user.getTokenVersion() + 1);
+
+			User updatedUser = userRepository.save(user);
+			evictCredentials(updatedUser.getId());
 
-			return userRepository.save(user);
+			return updatedUser;
 
 		}
 
@@ -120,13 +128,13 @@ public class UserServiceImpl implements UserService {
 	public ApiResponse deleteUser(String username, UserPrincipal currentUser) {
 		User user = userRepository.findByUsername(username)
 				.orElseThrow(() -> new ResourceNotFoundException("User", "id", username));
-		if (!user.getId().equals(currentUser.getId()) || !currentUser.getAuthorities()
-				.contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+		if (!user.getId().equals(currentUser.getId()) || !currentUser.isAdmin()) {
 			ApiResponse apiResponse = new ApiResponse(Boolean.FALSE, "You don't have permission to delete profile of: " + username);
 			throw new AccessDeniedException(apiResponse);
 		}
 
 		userRepository.deleteById(user.getId());
+		evictCredentials(user.getId());
 
 		return new ApiResponse(Boolean.TRUE, "You successfully deleted profile of: " + username);
 	}
@@ -140,7 +148,9 @@ public class UserServiceImpl implements UserService {
 		roles.add(
 				roleRepository.findByName(RoleName.ROLE_USER).orElseThrow(() -> new AppException("User role not set")));
 		user.setRoles(roles);
+		user.setTokenVersion(user.getTokenVersion() + 1);
 		userRepository.save(user);
+		evictCredentials(user.getId());
 		return new ApiResponse(Boolean.TRUE, "You gave ADMIN role to user: " + username);
 	}
 
@@ -151,7 +161,9 @@ public class UserServiceImpl implements UserService {
 		roles.add(
 				roleRepository.findByName(RoleName.ROLE_USER).orElseThrow(() -> new AppException("User role not set")));
 		user.setRoles(roles);
+		user.setTokenVersion(user.getTokenVersion() + 1);
 		userRepository.save(user);
+		evictCredentials(user.getId());
 		return new ApiResponse(Boolean.TRUE, "You took ADMIN role from user: " + username);
 	}
 
@@ -163,23 +175,25 @@ public class UserServiceImpl implements UserService {
 		Address address = new Address(infoRequest.getStreet(), infoRequest.getSuite(), infoRequest.getCity(),
 				infoRequest.getZipcode(), geo);
 		Company company = new Company(infoRequest.getCompanyName(), infoRequest.getCatchPhrase(), infoRequest.getBs());
-		if (user.getId().equals(currentUser.getId())
-				|| currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+		if (ownershipService.isOwnerOrAdmin(user.getId(), currentUser)) {
 			user.setAddress(address);
 			user.setCompany(company);
 			user.setWebsite(infoRequest.getWebsite());
 			user.setPhone(infoRequest.getPhone());
 			User updatedUser = userRepository.save(user);
 
-			Long postCount = postRepository.countByCreatedBy(updatedUser.getId());
-
 			return new UserProfile(updatedUser.getId(), updatedUser.getUsername(),
 					updatedUser.getFirstName(), updatedUser.getLastName(), updatedUser.getCreatedAt(),
 					updatedUser.getEmail(), updatedUser.getAddress(), updatedUser.getPhone(), updatedUser.getWebsite(),
-					updatedUser.getCompany(), postCount);
+					updatedUser.getCompany(), updatedUser.getPostCount());
 		}
 
 		ApiResponse apiResponse = new ApiResponse(Boolean.FALSE, "You don't have permission to update users profile", HttpStatus.FORBIDDEN);
 		throw new AccessDeniedException(apiResponse);
 	}
+
+	private void evictCredentials(Long userId) {
+		userPrincipalCache.invalidate(userId);
+		tokenVersionCache.invalidate(userId);
+	}
 }
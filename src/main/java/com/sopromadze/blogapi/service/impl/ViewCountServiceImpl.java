@@ -0,0 +1,148 @@
+package com.sopromadze.blogapi.service.impl;
+
+import com.sopromadze.blogapi.repository.ViewCountRepository;
+import com.sopromadze.blogapi.service.TrendingService;
+import com.sopromadze.blogapi.service.ViewCountService;
+import com.sopromadze.blogapi.utils.AppConstants;
+import com.sopromadze.blogapi.utils.ViewCounter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Post and photo views are counted in memory and added to {@code views} every {@code app.viewFlushIntervalInMs}, with
+ * one batched {@code UPDATE} per table, and once more on shutdown. The columns therefore lag behind by up to one
+ * interval, and views still in memory are lost if the process dies. Entities map the columns read-only, so saving a
+ * stale post or photo never overwrites them. The views of each flush are also kept for {@code app.mostViewedWindowInMs}
+ * to rank the most viewed posts of that window.
+ */
+@Service
+public class ViewCountServiceImpl implements ViewCountService, MeterBinder {
+	private static final Logger LOGGER = LoggerFactory.getLogger(ViewCountServiceImpl.class);
+
+	private static final String VIEWS_KEYS = "blogapi.views.keys";
+
+	private static final String VIEWS_DROPPED = "blogapi.views.dropped";
+
+	private final ViewCounter postViews;
+
+	private final ViewCounter photoViews;
+
+	private final int windowFlushes;
+
+	/**
+	 * Post views of each flush in the window, oldest first, and their sum by post. Guarded by {@code this}.
+	 */
+	private final Deque<Map<Long, Long>> window = new ArrayDeque<>();
+
+	private final Map<Long, Long> windowViews = new HashMap<>();
+
+	private volatile List<Long> mostViewedPostIds = Collections.emptyList();
+
+	@Autowired
+	private ViewCountRepository viewCountRepository;
+
+	@Autowired
+	private TrendingService trendingService;
+
+	public ViewCountServiceImpl(@Value("${app.viewCounterMaxSize:100000}") int maxSize,
+			@Value("${app.viewFlushIntervalInMs:10000}") long flushIntervalInMs,
+			@Value("${app.mostViewedWindowInMs:3600000}") long windowInMs) {
+		this.postViews = new ViewCounter(maxSize);
+		this.photoViews = new ViewCounter(maxSize);
+		this.windowFlushes = (int) Math.max(1, windowInMs / flushIntervalInMs);
+	}
+
+	@Override
+	public void recordPostView(Long id) {
+		postViews.record(id);
+	}
+
+	@Override
+	public void recordPhotoView(Long id) {
+		photoViews.record(id);
+	}
+
+	@Override
+	public List<Long> getMostViewedPostIds(int limit) {
+		List<Long> ids = mostViewedPostIds;
+		return ids.subList(0, Math.min(limit, ids.size()));
+	}
+
+	@Override
+	@PreDestroy
+	@Scheduled(fixedDelayString = "${app.viewFlushIntervalInMs:10000}")
+	public synchronized void flush() {
+		Map<Long, Long> posts = postViews.drain();
+		// Views that could not be written are restored and come back with the next flush
+		Map<Long, Long> written = write(ViewCountRepository.POSTS, posts, postViews) ? posts : Collections.emptyMap();
+		slideWindow(written);
+		trendingService.recordViews(written);
+		write(ViewCountRepository.PHOTOS, photoViews.drain(), photoViews);
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder(VIEWS_KEYS, postViews, ViewCounter::size).tag("type", "post").register(registry);
+		Gauge.builder(VIEWS_KEYS, photoViews, ViewCounter::size).tag("type", "photo").register(registry);
+		FunctionCounter.builder(VIEWS_DROPPED, postViews, ViewCounter::getDropped).tag("type", "post").register(registry);
+		FunctionCounter.builder(VIEWS_DROPPED, photoViews, ViewCounter::getDropped).tag("type", "photo").register(registry);
+	}
+
+	private boolean write(String table, Map<Long, Long> views, ViewCounter counter) {
+		if (views.isEmpty()) {
+			return true;
+		}
+
+		try {
+			viewCountRepository.addViews(table, views);
+			return true;
+		} catch (DataAccessException ex) {
+			counter.restore(views);
+			LOGGER.warn("Could not write the views of {} ids, keeping them for the next flush", views.size(), ex);
+			return false;
+		}
+	}
+
+	private void slideWindow(Map<Long, Long> views) {
+		window.addLast(views);
+		views.forEach((id, count) -> windowViews.merge(id, count, Long::sum));
+		if (window.size() > windowFlushes) {
+			window.removeFirst().forEach((id, count) ->
+					windowViews.computeIfPresent(id, (key, total) -> total - count == 0 ? null : total - count));
+		}
+
+		PriorityQueue<Map.Entry<Long, Long>> top = new PriorityQueue<>(Map.Entry.<Long, Long>comparingByValue());
+		for (Map.Entry<Long, Long> entry : windowViews.entrySet()) {
+			top.add(entry);
+			if (top.size() > AppConstants.MAX_PAGE_SIZE) {
+				top.poll();
+			}
+		}
+
+		List<Long> ids = new ArrayList<>(top.size());
+		while (!top.isEmpty()) {
+			ids.add(top.poll().getKey());
+		}
+		Collections.reverse(ids);
+		mostViewedPostIds = Collections.unmodifiableList(ids);
+	}
+}
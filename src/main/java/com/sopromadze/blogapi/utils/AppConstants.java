@@ -7,6 +7,25 @@ public class AppConstants {
 
 	public static final int MAX_PAGE_SIZE = 30;
 
+	public static final int MAX_BATCH_SIZE = 100;
+
+	/**
+	 * Deepest result a search page may reach. Lucene collects every hit up to the requested page.
+	 */
+	public static final int MAX_SEARCH_RESULTS = 1000;
+
+	public static final String ID_GENERATORS = "id_generators";
+
+	/**
+	 * Ids reserved per round trip to {@link #ID_GENERATORS}. Matches {@code hibernate.jdbc.batch_size} so a full
+	 * insert batch needs at most one allocation.
+	 */
+	public static final int ID_ALLOCATION_SIZE = 50;
+
+	public static final String DEFAULT_WITH_TOTAL = "true";
+
+	public static final String DEFAULT_FEED_WITH_TOTAL = "false";
+
 	public static final String CREATED_AT = "createdAt";
 
 	public static final String ID = "id";
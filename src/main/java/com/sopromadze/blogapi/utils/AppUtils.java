@@ -1,7 +1,14 @@
 package com.sopromadze.blogapi.utils;
 
 import com.sopromadze.blogapi.exception.BlogapiException;
+import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.SlicedResponse;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
 
 public class AppUtils {
 	public static void validatePageNumberAndSize(int page, int size) {
@@ -17,4 +24,41 @@ public class AppUtils {
 			throw new BlogapiException(HttpStatus.BAD_REQUEST, "Page size must not be greater than " + AppConstants.MAX_PAGE_SIZE);
 		}
 	}
+
+	public static void validatePageSize(int size) {
+		if (size < 1) {
+			throw new BlogapiException(HttpStatus.BAD_REQUEST, "Size number cannot be less than one.");
+		}
+
+		if (size > AppConstants.MAX_PAGE_SIZE) {
+			throw new BlogapiException(HttpStatus.BAD_REQUEST, "Page size must not be greater than " + AppConstants.MAX_PAGE_SIZE);
+		}
+	}
+
+	public static <T> SlicedResponse<T> toSlicedResponse(List<T> content, Slice<?> slice) {
+		return new SlicedResponse<>(content, slice.getNumber(), slice.getSize(), slice.isLast());
+	}
+
+	public static <T> PagedResponse<T> toPagedResponse(List<T> content, Slice<?> slice, long totalElements) {
+		int totalPages = slice.getSize() == 0 ? 1 : (int) Math.ceil((double) totalElements / (double) slice.getSize());
+		return new PagedResponse<>(content, slice.getNumber(), slice.getSize(), totalElements, totalPages, slice.isLast());
+	}
+
+	/**
+	 * Runs {@code action} once the current transaction has committed, and not at all if it rolls back. Without a
+	 * transaction it runs immediately.
+	 */
+	public static void runAfterCommit(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
 }
@@ -0,0 +1,71 @@
+package com.sopromadze.blogapi.utils;
+
+import com.sopromadze.blogapi.exception.BadRequestException;
+import com.sopromadze.blogapi.payload.ApiResponse;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque position in a listing ordered by {@code (createdAt DESC, id DESC)}.
+ * The next page starts strictly after this position, so the database can seek
+ * on the index instead of scanning and discarding {@code page * size} rows.
+ */
+public final class SeekCursor {
+	/**
+	 * Upper bound used for the first page. Kept within the range of a MySQL TIMESTAMP column.
+	 */
+	private static final SeekCursor FIRST = new SeekCursor(Instant.parse("2038-01-19T03:14:07Z"), Long.MAX_VALUE);
+
+	private static final String SEPARATOR = ":";
+
+	private final Instant createdAt;
+
+	private final Long id;
+
+	private SeekCursor(Instant createdAt, Long id) {
+		this.createdAt = createdAt;
+		this.id = id;
+	}
+
+	public static SeekCursor of(Instant createdAt, Long id) {
+		return new SeekCursor(createdAt, id);
+	}
+
+	public static SeekCursor decode(String cursor) {
+		if (!StringUtils.hasText(cursor)) {
+			return FIRST;
+		}
+
+		try {
+			String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			String[] parts = decoded.split(SEPARATOR, 2);
+			if (parts.length != 2) {
+				throw invalidCursor();
+			}
+			return new SeekCursor(Instant.parse(parts[1]), Long.valueOf(parts[0]));
+		} catch (IllegalArgumentException | DateTimeParseException ex) {
+			throw invalidCursor();
+		}
+	}
+
+	public String encode() {
+		String raw = id + SEPARATOR + createdAt;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	private static BadRequestException invalidCursor() {
+		return new BadRequestException(new ApiResponse(Boolean.FALSE, "Invalid page cursor"));
+	}
+}
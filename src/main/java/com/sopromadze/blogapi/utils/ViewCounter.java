@@ -0,0 +1,85 @@
+package com.sopromadze.blogapi.utils;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Views per id, counted in memory by any number of threads and drained as deltas by a single flushing thread. Each id
+ * gets its own {@link LongAdder}, so concurrent views of a popular post do not contend on one value. Adders are never
+ * reset (that would lose concurrent increments): a drain returns how far each one moved since the previous drain.
+ * Ids without views over a whole drain are evicted; a view racing with the eviction of its id may be lost. Views of
+ * new ids are dropped while {@code maxSize} ids are tracked.
+ */
+public class ViewCounter {
+	private final ConcurrentMap<Long, LongAdder> views = new ConcurrentHashMap<>();
+
+	/**
+	 * Sum of each adder at the previous drain. Only touched by the draining thread.
+	 */
+	private final Map<Long, Long> drained = new HashMap<>();
+
+	private final LongAdder dropped = new LongAdder();
+
+	private final int maxSize;
+
+	public ViewCounter(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	public void record(Long id) {
+		LongAdder adder = views.get(id);
+		if (adder == null) {
+			if (views.size() >= maxSize) {
+				dropped.increment();
+				return;
+			}
+			adder = views.computeIfAbsent(id, key -> new LongAdder());
+		}
+		adder.increment();
+	}
+
+	/**
+	 * Views recorded since the previous drain, by id.
+	 */
+	public Map<Long, Long> drain() {
+		Map<Long, Long> deltas = new HashMap<>();
+		for (Iterator<Map.Entry<Long, LongAdder>> it = views.entrySet().iterator(); it.hasNext();) {
+			Map.Entry<Long, LongAdder> entry = it.next();
+			Long id = entry.getKey();
+			long sum = entry.getValue().sum();
+			long delta = sum - drained.getOrDefault(id, 0L);
+			if (delta > 0) {
+				deltas.put(id, delta);
+				drained.put(id, sum);
+			} else {
+				it.remove();
+				drained.remove(id);
+				// Views that landed between the sum and the removal
+				long late = entry.getValue().sum() - sum;
+				if (late > 0) {
+					deltas.put(id, late);
+				}
+			}
+		}
+		return deltas;
+	}
+
+	/**
+	 * Puts back views that were drained but could not be written, so that the next drain returns them again.
+	 */
+	public void restore(Map<Long, Long> deltas) {
+		deltas.forEach((id, delta) -> views.computeIfAbsent(id, key -> new LongAdder()).add(delta));
+	}
+
+	public int size() {
+		return views.size();
+	}
+
+	public long getDropped() {
+		return dropped.sum();
+	}
+}
@@ -1,20 +1,3 @@
-UNLOCK TABLES;
-
-DROP TABLE IF EXISTS `post_tag`;
-DROP TABLE IF EXISTS `tags`;
-DROP TABLE IF EXISTS `user_role`;
-DROP TABLE IF EXISTS `roles`;
-DROP TABLE IF EXISTS `comments`;
-DROP TABLE IF EXISTS `posts`;
-DROP TABLE IF EXISTS `photos`;
-DROP TABLE IF EXISTS `albums`;
-DROP TABLE IF EXISTS `todos`;
-DROP TABLE IF EXISTS `categories`;
-DROP TABLE IF EXISTS `users`;
-DROP TABLE IF EXISTS `address`;
-DROP TABLE IF EXISTS `company`;
-DROP TABLE IF EXISTS `geo`;
-
 CREATE TABLE `tags` (
   `id` bigint(19) unsigned NOT NULL AUTO_INCREMENT,
   `name` varchar(255) NOT NULL,
@@ -202,6 +185,4 @@ CREATE TABLE `user_role` (
   CONSTRAINT `fk_security_role_id` FOREIGN KEY (`role_id`) REFERENCES `roles` (`id`)
 ) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=utf8;
 
-LOCK TABLES `roles` WRITE;
 INSERT INTO `roles` VALUES (1,'ROLE_ADMIN'),(2,'ROLE_USER');
-UNLOCK TABLES;
@@ -0,0 +1,18 @@
+-- Tag names are stored trimmed and lower-cased. Duplicates that only differed in case or surrounding
+-- whitespace are merged into the tag with the lowest id before the key is added.
+UPDATE `post_tag` SET `tag_id` = (
+  SELECT MIN(`same`.`id`) FROM `tags` `tag` JOIN `tags` `same` ON LOWER(TRIM(`same`.`name`)) = LOWER(TRIM(`tag`.`name`))
+  WHERE `tag`.`id` = `post_tag`.`tag_id`
+);
+
+DELETE FROM `post_tag` WHERE `id` NOT IN (
+  SELECT `id` FROM (SELECT MIN(`id`) AS `id` FROM `post_tag` GROUP BY `post_id`, `tag_id`) `kept`
+);
+
+DELETE FROM `tags` WHERE `id` NOT IN (
+  SELECT `id` FROM (SELECT MIN(`id`) AS `id` FROM `tags` GROUP BY LOWER(TRIM(`name`))) `kept`
+);
+
+UPDATE `tags` SET `name` = LOWER(TRIM(`name`));
+
+ALTER TABLE `tags` ADD CONSTRAINT `uk_tags_name` UNIQUE (`name`);
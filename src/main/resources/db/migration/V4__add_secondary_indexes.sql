@@ -0,0 +1,19 @@
+CREATE UNIQUE INDEX `uk_users_username` ON `users` (`username`);
+CREATE UNIQUE INDEX `uk_users_email` ON `users` (`email`);
+
+CREATE INDEX `idx_posts_created_at` ON `posts` (`created_at`, `id`);
+CREATE INDEX `idx_posts_created_by` ON `posts` (`created_by`, `created_at`, `id`);
+CREATE INDEX `idx_posts_category_id` ON `posts` (`category_id`, `created_at`, `id`);
+
+CREATE INDEX `idx_comments_post_id` ON `comments` (`post_id`, `created_at`);
+
+CREATE INDEX `idx_albums_created_at` ON `albums` (`created_at`);
+CREATE INDEX `idx_albums_created_by` ON `albums` (`created_by`, `created_at`);
+
+CREATE INDEX `idx_photos_created_at` ON `photos` (`created_at`);
+CREATE INDEX `idx_photos_album_id` ON `photos` (`album_id`, `created_at`);
+
+CREATE INDEX `idx_todos_created_by` ON `todos` (`created_by`, `created_at`);
+
+CREATE INDEX `idx_categories_created_at` ON `categories` (`created_at`);
+CREATE INDEX `idx_tags_created_at` ON `tags` (`created_at`);
@@ -0,0 +1,13 @@
+-- Used by the pooled-lo table generators: each allocation hands out next_val .. next_val + 49
+-- and then stores next_val + 50, so the rows start just above the highest id already in use.
+CREATE TABLE `id_generators` (
+  `sequence_name` varchar(64) NOT NULL,
+  `next_val` bigint(19) unsigned NOT NULL,
+  PRIMARY KEY (`sequence_name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+INSERT INTO `id_generators` (`sequence_name`, `next_val`) SELECT 'posts', COALESCE(MAX(`id`), 0) + 1 FROM `posts`;
+INSERT INTO `id_generators` (`sequence_name`, `next_val`) SELECT 'comments', COALESCE(MAX(`id`), 0) + 1 FROM `comments`;
+INSERT INTO `id_generators` (`sequence_name`, `next_val`) SELECT 'photos', COALESCE(MAX(`id`), 0) + 1 FROM `photos`;
+INSERT INTO `id_generators` (`sequence_name`, `next_val`) SELECT 'todos', COALESCE(MAX(`id`), 0) + 1 FROM `todos`;
+INSERT INTO `id_generators` (`sequence_name`, `next_val`) SELECT 'tags', COALESCE(MAX(`id`), 0) + 1 FROM `tags`;
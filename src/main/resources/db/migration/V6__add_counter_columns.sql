@@ -0,0 +1,7 @@
+-- Maintained by the services on insert and delete, and repaired by the counter reconciliation job
+-- after cascades (deleting a category or a user) that bypass them.
+ALTER TABLE `users` ADD COLUMN `post_count` bigint(19) NOT NULL DEFAULT 0;
+ALTER TABLE `posts` ADD COLUMN `comment_count` bigint(19) NOT NULL DEFAULT 0;
+
+UPDATE `users` SET `post_count` = (SELECT COUNT(*) FROM `posts` WHERE `posts`.`user_id` = `users`.`id`);
+UPDATE `posts` SET `comment_count` = (SELECT COUNT(*) FROM `comments` WHERE `comments`.`post_id` = `posts`.`id`);
@@ -0,0 +1,3 @@
+-- Incremented in batches by ViewCountServiceImpl from views counted in memory.
+ALTER TABLE `posts` ADD COLUMN `views` bigint(19) NOT NULL DEFAULT 0;
+ALTER TABLE `photos` ADD COLUMN `views` bigint(19) NOT NULL DEFAULT 0;
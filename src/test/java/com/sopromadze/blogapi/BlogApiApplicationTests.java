@@ -1,16 +1,69 @@
 package com.sopromadze.blogapi;
 
+import com.sopromadze.blogapi.metrics.ConnectionPoolEndpoint;
+import com.sopromadze.blogapi.metrics.MethodTimingAspect;
+import com.sopromadze.blogapi.repository.TodoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
 @RunWith(SpringRunner.class)
 @SpringBootTest(classes = BlogApiApplication.class)
+@ActiveProfiles("test")
 public class BlogApiApplicationTests {
 
+	@Autowired
+	private ConnectionPoolEndpoint connectionPoolEndpoint;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TodoRepository todoRepository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private PrometheusMeterRegistry prometheusMeterRegistry;
+
 	@Test
 	public void contextLoads() {
 	}
 
+	@Test
+	public void poolIsSizedFromCoresAndReportsWaitTime() {
+		jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+
+		ConnectionPoolEndpoint.PoolSnapshot snapshot = connectionPoolEndpoint.pool();
+
+		assertEquals(Runtime.getRuntime().availableProcessors() * 2 + 1, snapshot.getMaximumPoolSize());
+		assertEquals(snapshot.getMaximumPoolSize(), snapshot.getMinimumIdle());
+		assertTrue(snapshot.getTotal() > 0);
+		assertNotNull(snapshot.getWait());
+		assertTrue(snapshot.getWait().getCount() > 0);
+	}
+
+	@Test
+	public void repositoryCallsAreTimedPerRepositoryAndMethod() {
+		todoRepository.findAll();
+
+		Timer timer = meterRegistry.find(MethodTimingAspect.REPOSITORY_TIMER).tag("repository", "TodoRepository")
+				.tag("method", "findAll").tag("exception", "none").timer();
+		assertNotNull(timer);
+		assertTrue(timer.count() > 0);
+		assertTrue(prometheusMeterRegistry.scrape().contains("blogapi_repository_seconds_bucket"));
+	}
+
 }
@@ -0,0 +1,68 @@
+package com.sopromadze.blogapi.controller;
+
+import com.sopromadze.blogapi.BlogApiApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.Assert.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = BlogApiApplication.class, properties = {
+        "app.actuatorUsername=scraper",
+        // BCrypt of "scrape-password" at cost 4
+        "app.actuatorPasswordHash=$2a$04$6G7XiAQlTVVSwboyh8yWVOb4busdHS182Um.6ljrL9w18mtLQHoo2"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ActuatorSecurityTests {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void healthIsPublic() throws Exception {
+        mvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    }
+
+    @Test
+    public void metricsNeedAnAdminOrTheScrapeCredential() throws Exception {
+        for (String endpoint : new String[] {"/actuator/prometheus", "/actuator/metrics", "/actuator/pool"}) {
+            mvc.perform(get(endpoint)).andExpect(status().isUnauthorized());
+            mvc.perform(get(endpoint).with(user("user").roles("USER"))).andExpect(status().isForbidden());
+            mvc.perform(get(endpoint).with(httpBasic("scraper", "wrong password")))
+                    .andExpect(status().isUnauthorized());
+
+            mvc.perform(get(endpoint).with(user("admin").roles("ADMIN"))).andExpect(status().isOk());
+            mvc.perform(get(endpoint).with(httpBasic("scraper", "scrape-password"))).andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    public void scrapesStayOffThePasswordHashingThreads() throws Exception {
+        long matches = passwordMatches();
+
+        mvc.perform(get("/actuator/prometheus").with(httpBasic("scraper", "scrape-password")))
+                .andExpect(status().isOk());
+
+        assertEquals(matches, passwordMatches());
+    }
+
+    private long passwordMatches() {
+        Timer timer = meterRegistry.find("blogapi.password.hash").tag("operation", "matches").timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
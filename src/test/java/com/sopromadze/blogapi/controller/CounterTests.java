@@ -0,0 +1,69 @@
+package com.sopromadze.blogapi.controller;
+
+import com.sopromadze.blogapi.model.Comment;
+import com.sopromadze.blogapi.model.Post;
+import com.sopromadze.blogapi.repository.CommentRepository;
+import com.sopromadze.blogapi.service.CounterReconciliationService;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class CounterTests extends IntegrationTestSupport {
+    private static final String COMMENT = "{\"body\": \"A comment that is long enough\"}";
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private CounterReconciliationService counterReconciliationService;
+
+    @Test
+    public void countersFollowInsertsAndDeletes() throws Exception {
+        mvc.perform(post("/api/posts").with(user(currentUser)).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Counted by " + owner.getUsername() + "\", \"body\": \"A post body that is long "
+                        + "enough to pass the fifty character minimum\", \"categoryId\": " + category.getId() + "}"))
+                .andExpect(status().isCreated());
+        mvc.perform(get("/api/users/{username}/profile", owner.getUsername())).andExpect(jsonPath("$.postCount", is(1)));
+
+        Long postId = postRepository.findSummariesByCategory(category.getId(), PageRequest.of(0, 1)).getContent().get(0).getId();
+        mvc.perform(post("/api/posts/{postId}/comments", postId).with(user(currentUser))
+                .contentType(MediaType.APPLICATION_JSON).content(COMMENT))
+                .andExpect(status().isCreated());
+        mvc.perform(post("/api/posts/{postId}/comments/batch", postId).with(user(currentUser))
+                .contentType(MediaType.APPLICATION_JSON).content("{\"items\": [" + COMMENT + ", " + COMMENT + "]}"))
+                .andExpect(status().isOk());
+        Long commentId = commentRepository.findSliceByPostId(postId, PageRequest.of(0, 1)).getContent().get(0).getId();
+        mvc.perform(delete("/api/posts/{postId}/comments/{id}", postId, commentId).with(user(currentUser)))
+                .andExpect(status().isOk());
+        mvc.perform(get("/api/posts/category/{id}", category.getId())).andExpect(jsonPath("$.content[0].commentCount", is(2)));
+
+        mvc.perform(delete("/api/posts/{id}", postId).with(user(currentUser))).andExpect(status().isOk());
+        mvc.perform(get("/api/users/{username}/profile", owner.getUsername())).andExpect(jsonPath("$.postCount", is(0)));
+    }
+
+    @Test
+    public void reconciliationRepairsCountersWrittenBehindTheServicesBack() {
+        Post post = savePost("Imported by " + owner.getUsername());
+        Comment comment = new Comment("Imported comment");
+        comment.setName(owner.getUsername());
+        comment.setEmail(owner.getEmail());
+        comment.setPost(post);
+        comment.setUser(owner);
+        commentRepository.save(comment);
+
+        counterReconciliationService.reconcileCounters();
+
+        assertEquals(Long.valueOf(1), userRepository.findById(owner.getId()).get().getPostCount());
+        assertEquals(Long.valueOf(1), postRepository.findById(post.getId()).get().getCommentCount());
+    }
+}
@@ -0,0 +1,144 @@
+package com.sopromadze.blogapi.controller;
+
+import com.sopromadze.blogapi.metrics.QueryCountFilter;
+import com.sopromadze.blogapi.model.Album;
+import com.sopromadze.blogapi.model.Photo;
+import com.sopromadze.blogapi.model.Post;
+import com.sopromadze.blogapi.model.Tag;
+import com.sopromadze.blogapi.repository.AlbumRepository;
+import com.sopromadze.blogapi.repository.PhotoRepository;
+import com.sopromadze.blogapi.repository.TagRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class HttpCachingTests extends IntegrationTestSupport {
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private PhotoRepository photoRepository;
+
+    private Post post;
+
+    private Album album;
+
+    @Before
+    public void setUp() {
+        Tag tag = tagRepository.save(new Tag(unique("conditional")));
+
+        post = savePost("Conditional post", tag);
+
+        album = new Album();
+        album.setTitle(unique("Conditional album "));
+        album.setUser(owner);
+        album = albumRepository.save(album);
+    }
+
+    @Test
+    public void unchangedPostIsRevalidatedWithOneStatement() throws Exception {
+        MvcResult first = mvc.perform(get("/api/posts/{id}", post.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        String lastModified = first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+        assertNotNull(eTag);
+        assertNotNull(lastModified);
+
+        mvc.perform(get("/api/posts/{id}", post.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(header().string(QueryCountFilter.QUERY_COUNT_HEADER, "1"));
+        mvc.perform(get("/api/posts/{id}", post.getId()).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void renamingThePostCategoryChangesThePostETag() throws Exception {
+        String eTag = eTag("/api/posts/{id}", post.getId());
+
+        mvc.perform(put("/api/categories/{id}", category.getId()).with(user(currentUser))
+                .contentType(MediaType.APPLICATION_JSON).content("{\"name\": \"" + category.getName() + "-renamed\"}"))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/api/posts/{id}", post.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void addingAPhotoChangesTheAlbumETag() throws Exception {
+        String eTag = eTag("/api/albums/{id}", album.getId());
+        mvc.perform(get("/api/albums/{id}", album.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        photoRepository.save(new Photo("Conditional photo", "https://via.placeholder.com/600/92c952",
+                "https://via.placeholder.com/150/92c952", album));
+
+        assertNotEquals(eTag, eTag("/api/albums/{id}", album.getId()));
+    }
+
+    @Test
+    public void categoriesTagsAndListingsAnswerNotModified() throws Exception {
+        assertRevalidates("/api/categories/{id}", category.getId());
+        assertRevalidates("/api/tags/{id}", post.getTags().get(0).getId());
+        assertRevalidates("/api/categories");
+        assertRevalidates("/api/posts/category/{id}", category.getId());
+    }
+
+    @Test
+    public void cacheControlFollowsTheConfiguredPolicies() throws Exception {
+        mvc.perform(get("/api/categories"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=300, public"));
+        mvc.perform(get("/api/tags/{id}", post.getTags().get(0).getId()))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=300, public"));
+        mvc.perform(get("/api/posts/{id}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"));
+        mvc.perform(get("/api/albums"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+        for (String path : new String[] {"/api/posts/search?q=post", "/api/posts/mostViewed", "/api/posts/trending"}) {
+            mvc.perform(get(path))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+        }
+        mvc.perform(get("/api/users/me").with(user(currentUser)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store, private"))
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+        mvc.perform(get("/api/todos").with(user(currentUser)))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store, private"));
+        mvc.perform(put("/api/categories/{id}", category.getId()).with(user(currentUser))
+                .contentType(MediaType.APPLICATION_JSON).content("{\"name\": \"" + category.getName() + "\"}"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, no-store, max-age=0, must-revalidate"));
+    }
+
+    private void assertRevalidates(String url, Object... uriVars) throws Exception {
+        String eTag = eTag(url, uriVars);
+        MvcResult result = mvc.perform(get(url, uriVars).header(HttpHeaders.IF_NONE_MATCH, eTag)).andReturn();
+        assertEquals(url + " answered", 304, result.getResponse().getStatus());
+        assertEquals(0, result.getResponse().getContentLength());
+    }
+
+    private String eTag(String url, Object... uriVars) throws Exception {
+        String eTag = mvc.perform(get(url, uriVars)).andExpect(status().isOk()).andReturn().getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertNotNull(url + " has no ETag", eTag);
+        return eTag;
+    }
+}
@@ -0,0 +1,115 @@
+package com.sopromadze.blogapi.controller;
+
+import com.sopromadze.blogapi.BlogApiApplication;
+import com.sopromadze.blogapi.model.Category;
+import com.sopromadze.blogapi.model.Post;
+import com.sopromadze.blogapi.model.Tag;
+import com.sopromadze.blogapi.model.role.RoleName;
+import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.repository.CategoryRepository;
+import com.sopromadze.blogapi.repository.PostRepository;
+import com.sopromadze.blogapi.repository.RoleRepository;
+import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.security.UserPrincipal;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs against the shared H2 database of the "test" profile with a signed in owner and a category of their own.
+ * Requests commit as they do in production, so rows are deleted after every test instead of rolled back.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = BlogApiApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public abstract class IntegrationTestSupport {
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    // Children first; roles and id_generators belong to the migrations
+    private static final String[] TABLES = {"post_tag", "comments", "photos", "albums", "posts", "categories", "tags",
+            "todos", "user_role", "users", "address", "company", "geo"};
+
+    @Autowired
+    protected MockMvc mvc;
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    protected RoleRepository roleRepository;
+
+    @Autowired
+    protected CategoryRepository categoryRepository;
+
+    @Autowired
+    protected PostRepository postRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    protected User owner;
+
+    protected UserPrincipal currentUser;
+
+    protected Category category;
+
+    @Before
+    public void setUpOwner() {
+        String username = unique("user");
+        owner = new User("Leanne", "Graham", username, username + "@gmail.com", "password");
+        owner.setRoles(Collections.singletonList(roleRepository.findByName(RoleName.ROLE_USER).get()));
+        owner = userRepository.save(owner);
+        currentUser = UserPrincipal.create(owner);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(currentUser, null, currentUser.getAuthorities()));
+
+        category = categoryRepository.save(new Category(unique("category")));
+    }
+
+    @After
+    public void cleanUp() {
+        SecurityContextHolder.clearContext();
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, TABLES);
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    /**
+     * Saves a post of the owner in their category, without going through {@code PostService}.
+     */
+    protected Post savePost(String title, Tag... tags) {
+        Post post = new Post();
+        post.setTitle(title);
+        post.setBody(title + " body");
+        post.setUser(owner);
+        post.setCategory(category);
+        post.setTags(new ArrayList<>(Arrays.asList(tags)));
+        return postRepository.save(post);
+    }
+
+    /**
+     * Returns {@code prefix} followed by a number that no other call in this JVM returns.
+     */
+    protected static String unique(String prefix) {
+        return prefix + SEQUENCE.incrementAndGet();
+    }
+}
@@ -0,0 +1,85 @@
+package com.sopromadze.blogapi.controller;
+
+import com.sopromadze.blogapi.BlogApiApplication;
+import com.sopromadze.blogapi.exception.ServiceUnavailableException;
+import com.sopromadze.blogapi.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = BlogApiApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class PasswordHashingTests {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void signUpAndSignInHashOnTheHashingThreads() throws Exception {
+        mvc.perform(post("/api/auth/signup").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\": \"Chelsey\", \"lastName\": \"Dietrich\", \"username\": \"hasher\", "
+                        + "\"email\": \"hasher@gmail.com\", \"password\": \"password\"}"))
+                .andExpect(status().isCreated());
+        mvc.perform(post("/api/auth/signin").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"usernameOrEmail\": \"hasher\", \"password\": \"password\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accessToken", notNullValue()));
+        mvc.perform(post("/api/auth/signin").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"usernameOrEmail\": \"hasher\", \"password\": \"wrong password\"}"))
+                .andExpect(status().isUnauthorized());
+
+        assertTrue(meterRegistry.get("blogapi.password.hash").tag("operation", "encode").timer().count() >= 1);
+        assertTrue(meterRegistry.get("blogapi.password.hash").tag("operation", "matches").timer().count() >= 2);
+    }
+
+    @Test
+    public void hashesBeyondTheQueueAreRefused() throws Exception {
+        // One thread and one waiting hash; cost 12 keeps each hash busy long enough to fill both
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(12, 1, 1);
+        MeterRegistry registry = new SimpleMeterRegistry();
+        encoder.bindTo(registry);
+        try {
+            Thread running = new Thread(() -> encoder.encode("password"));
+            running.start();
+            Thread waiting = new Thread(() -> encoder.encode("password"));
+            waiting.start();
+            while (registry.get("blogapi.password.queue").gauge().value() < 1) {
+                Thread.sleep(1);
+            }
+
+            try {
+                encoder.encode("password");
+                fail("Expected the hash to be refused");
+            } catch (ServiceUnavailableException ex) {
+                assertEquals(1.0, registry.get("blogapi.password.rejected").functionCounter().count(), 0);
+            }
+
+            running.join();
+            waiting.join();
+            assertEquals(2, registry.get("blogapi.password.hash").tag("operation", "encode").timer().count());
+        } finally {
+            encoder.shutdown();
+        }
+    }
+}
@@ -12,6 +12,7 @@ import com.sopromadze.blogapi.repository.RoleRepository;
 import com.sopromadze.blogapi.security.JwtTokenProvider;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import com.sopromadze.blogapi.service.PhotoService;
+import com.sopromadze.blogapi.service.ViewCountService;
 import org.hamcrest.core.IsNull;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -54,6 +55,9 @@ public class PhotoControllerTests {
     @MockBean
     private PhotoService photoService;
 
+    @MockBean
+    private ViewCountService viewCountService;
+
     @MockBean
     private RoleRepository roleRepository;
 
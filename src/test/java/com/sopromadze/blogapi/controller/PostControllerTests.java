@@ -14,9 +14,13 @@ import com.sopromadze.blogapi.model.user.Company;
 import com.sopromadze.blogapi.model.user.Geo;
 import com.sopromadze.blogapi.model.user.User;
 import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.CursorPagedResponse;
 import com.sopromadze.blogapi.payload.PostRequest;
+import com.sopromadze.blogapi.payload.PostSummary;
+import com.sopromadze.blogapi.payload.SlicedResponse;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import com.sopromadze.blogapi.service.PostService;
+import com.sopromadze.blogapi.service.ViewCountService;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -38,8 +42,11 @@ import java.util.stream.Collectors;
 
 import static com.sopromadze.blogapi.utils.AppConstants.ID;
 import static com.sopromadze.blogapi.utils.AppConstants.POST;
+import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RunWith(SpringRunner.class)
@@ -54,6 +61,9 @@ public class PostControllerTests {
     @MockBean
     private PostService postService;
 
+    @MockBean
+    private ViewCountService viewCountService;
+
     @Test
     public void givenExistingPost_whenUpdatePost_thenIsOk() throws Exception {
 
@@ -126,6 +136,48 @@ public class PostControllerTests {
 
     }
 
+    @Test
+    public void givenEmptyCursor_whenGetAllPosts_thenReturnsNextCursor() throws Exception {
+        //given
+        String after = "";
+        Integer size = 2;
+        String next = "MjpwMjAyMC0wMS0wMVQwMDowMDowMFo";
+
+        PostSummary firstPost = new PostSummary();
+        firstPost.setId(3L);
+        PostSummary secondPost = new PostSummary();
+        secondPost.setId(2L);
+
+        CursorPagedResponse<PostSummary> response = new CursorPagedResponse<>(Arrays.asList(firstPost, secondPost), size, next, false);
+
+        given(postService.getAllPosts(after, size)).willReturn(response);
+
+        //when ... then
+        mvc.perform(get("/api/posts")
+                .param("after", after)
+                .param("size", size.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.next", is(next)))
+                .andExpect(jsonPath("$.last", is(false)));
+    }
+
+    @Test
+    public void givenDefaultParams_whenGetAllPosts_thenTotalsAreNotReturned() throws Exception {
+        //given
+        Integer page = 0;
+        Integer size = 30;
+
+        SlicedResponse<PostSummary> response = new SlicedResponse<>(Collections.emptyList(), page, size, true);
+
+        given(postService.getAllPosts(page, size, false)).willReturn(response);
+
+        //when ... then
+        mvc.perform(get("/api/posts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.last", is(true)))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
     public void givingNonExistingPost_whenUpdatePost_thenIsNotFound() throws Exception {
         Long nonExistingPostId = 20L;
         String newTitle = "Título de mi post no actualizado";
@@ -0,0 +1,213 @@
+package com.sopromadze.blogapi.controller;
+
+import com.sopromadze.blogapi.model.Tag;
+import com.sopromadze.blogapi.payload.PostRequest;
+import com.sopromadze.blogapi.payload.PostResponse;
+import com.sopromadze.blogapi.repository.TagRepository;
+import com.sopromadze.blogapi.search.PostSearchIndex;
+import com.sopromadze.blogapi.service.PostService;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class PostSearchTests extends IntegrationTestSupport {
+    private static final String BODY = " is what this post body talks about for long enough to be accepted as a post";
+
+    @Autowired
+    private PostSearchIndex postSearchIndex;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private String word;
+
+    @Before
+    public void setUp() {
+        word = unique("zephyrine");
+    }
+
+    @Test
+    public void titleMatchesRankAboveBodyMatches() throws Exception {
+        addPost("Nothing to see here", word + BODY, "misc");
+        addPost("All about " + word, "Another body that" + BODY, "misc");
+        addPost("Tagged post", "A third body that" + BODY, word);
+
+        mvc.perform(get("/api/posts/search").param("q", word.toUpperCase()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(3)))
+                .andExpect(jsonPath("$.content[0].title", is("All about " + word)))
+                .andExpect(jsonPath("$.content[1].title", is("Tagged post")))
+                .andExpect(jsonPath("$.content[1].tags[0]", is(word)))
+                .andExpect(jsonPath("$.content[2].title", is("Nothing to see here")));
+
+        mvc.perform(get("/api/posts/search").param("q", word).param("size", "2"))
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.last", is(false)));
+        mvc.perform(get("/api/posts/search").param("q", word).param("page", "1").param("size", "2"))
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.last", is(true)));
+    }
+
+    @Test
+    public void updatesAndDeletesReachTheIndex() throws Exception {
+        String renamed = word + "renamed";
+        addPost("Soon renamed " + word, "Original body that" + BODY, "misc");
+        Long id = postSearchIndex.search(word, 0, 1).get(0);
+
+        mvc.perform(put("/api/posts/{id}", id).with(user(currentUser)).contentType(MediaType.APPLICATION_JSON)
+                .content(postJson("Renamed " + renamed, "Rewritten body that" + BODY, "misc")))
+                .andExpect(status().isOk());
+        mvc.perform(get("/api/posts/search").param("q", word)).andExpect(jsonPath("$.content", hasSize(0)));
+        mvc.perform(get("/api/posts/search").param("q", renamed))
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id", is(id.intValue())));
+
+        mvc.perform(delete("/api/posts/{id}", id).with(user(currentUser))).andExpect(status().isOk());
+        mvc.perform(get("/api/posts/search").param("q", renamed)).andExpect(jsonPath("$.content", hasSize(0)));
+    }
+
+    @Test
+    public void rolledBackPostsAreNotIndexed() {
+        PostRequest postRequest = new PostRequest();
+        postRequest.setTitle("Rolled back " + word);
+        postRequest.setBody("Rolled back body that" + BODY);
+        postRequest.setCategoryId(category.getId());
+
+        new TransactionTemplate(transactionManager).execute(status -> {
+            postService.addPost(postRequest, currentUser);
+            status.setRollbackOnly();
+            return null;
+        });
+
+        assertEquals(0, postSearchIndex.search(word, 0, 10).size());
+    }
+
+    @Test
+    public void rebuildIndexesPostsWrittenBehindTheServicesBack() throws Exception {
+        savePost("Imported " + word);
+        assertEquals(0, postSearchIndex.search(word, 0, 10).size());
+
+        postSearchIndex.rebuildInBackground();
+        for (int i = 0; i < 50 && postSearchIndex.search(word, 0, 10).isEmpty(); i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(1, postSearchIndex.search(word, 0, 10).size());
+    }
+
+    @Test
+    public void tagNamesAreNormalizedAndValidated() throws Exception {
+        String json = postJson("Tagged " + word, "Tagged body that" + BODY, "x");
+        mvc.perform(post("/api/posts").with(user(currentUser)).contentType(MediaType.APPLICATION_JSON)
+                .content(json.replace("[\"x\"]", "[\" Mixed" + word + " \", \"MIXED" + word + "\"]")))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.tags", hasSize(1)))
+                .andExpect(jsonPath("$.tags[0]", is("mixed" + word)));
+
+        mvc.perform(post("/api/posts").with(user(currentUser)).contentType(MediaType.APPLICATION_JSON)
+                .content(postJson("Too long a tag", "Tagged body that" + BODY, String.join("", Collections.nCopies(256, "x")))))
+                .andExpect(status().isBadRequest());
+        mvc.perform(post("/api/posts").with(user(currentUser)).contentType(MediaType.APPLICATION_JSON)
+                .content(postJson("Blank tag", "Tagged body that" + BODY, " ")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void tagNamesThatAlreadyExistAreRejected() throws Exception {
+        Tag taken = tagRepository.save(new Tag(word));
+        Tag renamed = tagRepository.save(new Tag(word + "renamed"));
+
+        mvc.perform(post("/api/tags").with(user(currentUser)).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"" + word.toUpperCase() + "\"}"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(put("/api/tags/{id}", renamed.getId()).with(user(currentUser)).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \" " + word + "\"}"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(put("/api/tags/{id}", taken.getId()).with(user(currentUser)).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"" + word.toUpperCase() + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is(word)));
+    }
+
+    @Test
+    public void tagsCommittedByAConcurrentPostAreAttached() throws Exception {
+        PostRequest first = postRequest("First " + word, word);
+        PostRequest second = postRequest("Second " + word, word);
+        // H2 reads committed rows at any level; PostServiceImplTests covers the stale snapshot of MySQL
+        TransactionTemplate repeatableRead = new TransactionTemplate(transactionManager);
+        repeatableRead.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        PostResponse response = repeatableRead.execute(status -> {
+            // Fixes the snapshot before the other post commits the tag
+            assertTrue(tagRepository.findByNameIn(Collections.singletonList(word)).isEmpty());
+            Thread concurrent = new Thread(() -> {
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(currentUser, null, currentUser.getAuthorities()));
+                postService.addPost(second, currentUser);
+            });
+            concurrent.start();
+            try {
+                concurrent.join();
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+            return postService.addPost(first, currentUser);
+        });
+
+        assertEquals(Collections.singletonList(word), response.getTags());
+        assertEquals(1, tagRepository.findByNameIn(Collections.singletonList(word)).size());
+        assertEquals(2, postSearchIndex.search(word, 0, 10).size());
+    }
+
+    @Test
+    public void blankOrTooDeepQueriesAreRejected() throws Exception {
+        mvc.perform(get("/api/posts/search").param("q", " ")).andExpect(status().isBadRequest());
+        mvc.perform(get("/api/posts/search").param("q", word).param("page", "40").param("size", "30"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void addPost(String title, String body, String tag) throws Exception {
+        mvc.perform(post("/api/posts").with(user(currentUser)).contentType(MediaType.APPLICATION_JSON)
+                .content(postJson(title, body, tag)))
+                .andExpect(status().isCreated());
+    }
+
+    private PostRequest postRequest(String title, String tag) {
+        PostRequest postRequest = new PostRequest();
+        postRequest.setTitle(title);
+        postRequest.setBody(title + BODY);
+        postRequest.setCategoryId(category.getId());
+        postRequest.setTags(Collections.singletonList(tag));
+        return postRequest;
+    }
+
+    private String postJson(String title, String body, String tag) {
+        return "{\"title\": \"" + title + "\", \"body\": \"" + body + "\", \"categoryId\": " + category.getId()
+                + ", \"tags\": [\"" + tag + "\"]}";
+    }
+}
@@ -0,0 +1,147 @@
+package com.sopromadze.blogapi.controller;
+
+import com.sopromadze.blogapi.metrics.QueryCountFilter;
+import com.sopromadze.blogapi.model.Album;
+import com.sopromadze.blogapi.model.Comment;
+import com.sopromadze.blogapi.model.Photo;
+import com.sopromadze.blogapi.model.Post;
+import com.sopromadze.blogapi.model.Tag;
+import com.sopromadze.blogapi.repository.AlbumRepository;
+import com.sopromadze.blogapi.repository.CommentRepository;
+import com.sopromadze.blogapi.repository.PhotoRepository;
+import com.sopromadze.blogapi.repository.TagRepository;
+import com.sopromadze.blogapi.utils.SeekCursor;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Guards against N+1 selects: every {@link PostController}, {@link AlbumController} and {@link CommentController}
+ * endpoint must stay within a fixed number of SQL statements, read from the {@code X-Query-Count} header.
+ * Listings are checked against a full page of rows, so a per-row query would blow the limit.
+ */
+public class StatementCountTests extends IntegrationTestSupport {
+    private static final int ROWS = 5;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private PhotoRepository photoRepository;
+
+    private Tag tag;
+
+    private List<Post> posts;
+
+    private List<Comment> comments;
+
+    private Album album;
+
+    @Before
+    public void setUp() {
+        tag = tagRepository.save(new Tag(unique("counted")));
+        Tag otherTag = tagRepository.save(new Tag(unique("other")));
+
+        posts = new ArrayList<>();
+        comments = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            posts.add(savePost("Post title number " + i, tag, otherTag));
+        }
+        for (int i = 0; i < ROWS; i++) {
+            Comment comment = new Comment("Comment body number " + i);
+            comment.setName(owner.getUsername());
+            comment.setEmail(owner.getEmail());
+            comment.setPost(posts.get(0));
+            comment.setUser(owner);
+            comments.add(commentRepository.save(comment));
+        }
+
+        album = new Album();
+        album.setTitle("Counted album");
+        album.setUser(owner);
+        album = albumRepository.save(album);
+        for (int i = 0; i < ROWS; i++) {
+            photoRepository.save(new Photo("Photo " + i, "https://via.placeholder.com/600/92c952",
+                    "https://via.placeholder.com/150/92c952", album));
+        }
+    }
+
+    @Test
+    public void postEndpointsStayWithinTheirStatementBudget() throws Exception {
+        String after = SeekCursor.of(Instant.now().plusSeconds(60), Long.MAX_VALUE).encode();
+        Long postId = posts.get(1).getId();
+
+        assertStatements(2, get("/api/posts"));
+        assertStatements(2, get("/api/posts").param("after", after));
+        assertStatements(3, get("/api/posts/category/{id}", category.getId()));
+        assertStatements(2, get("/api/posts/category/{id}", category.getId()).param("after", after));
+        assertStatements(3, get("/api/posts/tag/{id}", tag.getId()));
+        assertStatements(2, get("/api/posts/tag/{id}", tag.getId()).param("after", after));
+        assertStatements(2, get("/api/posts/{id}", postId));
+        assertStatements(6, post("/api/posts").content(postJson()));
+        assertStatements(4, put("/api/posts/{id}", postId).content(postJson()));
+        assertStatements(5, delete("/api/posts/{id}", postId));
+    }
+
+    @Test
+    public void albumEndpointsStayWithinTheirStatementBudget() throws Exception {
+        assertStatements(4, get("/api/albums"));
+        assertStatements(3, get("/api/albums/{id}", album.getId()));
+        assertStatements(2, get("/api/albums/{id}/photos", album.getId()));
+        assertStatements(1, post("/api/albums").content("{\"title\": \"New counted album\"}"));
+        assertStatements(4, put("/api/albums/{id}", album.getId()).content("{\"title\": \"Renamed counted album\"}"));
+        assertStatements(4, delete("/api/albums/{id}", album.getId()));
+    }
+
+    @Test
+    public void commentEndpointsStayWithinTheirStatementBudget() throws Exception {
+        Long postId = posts.get(0).getId();
+        String body = "{\"body\": \"A comment that is long enough\"}";
+
+        assertStatements(1, get("/api/posts/{postId}/comments", postId));
+        assertStatements(2, get("/api/posts/{postId}/comments/{id}", postId, comments.get(0).getId()));
+        assertStatements(3, post("/api/posts/{postId}/comments", postId).content(body));
+        assertStatements(3, put("/api/posts/{postId}/comments/{id}", postId, comments.get(0).getId()).content(body));
+        assertStatements(2, delete("/api/posts/{postId}/comments/{id}", postId, comments.get(0).getId()));
+        assertStatements(3, post("/api/posts/{postId}/comments/batch", postId)
+                .content("{\"items\": [" + body + ", " + body + ", " + body + "]}"));
+        assertStatements(4, delete("/api/posts/{postId}/comments/batch", postId)
+                .content("{\"ids\": [" + comments.get(1).getId() + ", " + comments.get(2).getId() + "]}"));
+    }
+
+    private String postJson() {
+        return "{\"title\": \"A counted post title\", \"body\": \"A counted post body that is long enough to pass the fifty character minimum\", "
+                + "\"categoryId\": " + category.getId() + ", \"tags\": [\"" + tag.getName() + "\", \"" + unique("fresh") + "\"]}";
+    }
+
+    private void assertStatements(int max, MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mvc.perform(request.with(user(currentUser)).contentType(MediaType.APPLICATION_JSON))
+                .andReturn();
+        int status = result.getResponse().getStatus();
+        String description = result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+        assertTrue(description + " answered " + status, status < 400);
+
+        int count = Integer.parseInt(result.getResponse().getHeader(QueryCountFilter.QUERY_COUNT_HEADER));
+        assertTrue(description + " sent " + count + " statements, expected at most " + max, count <= max);
+    }
+}
@@ -39,6 +39,7 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RunWith(SpringRunner.class)
@@ -117,4 +118,40 @@ public class TodoControllerTests {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    public void givenEmptyIds_whenDeletingTodosInBatch_thenIsBadRequest() throws Exception {
+        //when ... then
+        mvc.perform(delete("/api/todos/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": []}")
+                .header("Authorization", "Bearer sometoken"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void givenTooManyIds_whenDeletingTodosInBatch_thenIsBadRequest() throws Exception {
+        //given
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= MAX_BATCH_SIZE + 1; id++) {
+            ids.add(id);
+        }
+
+        //when ... then
+        mvc.perform(delete("/api/todos/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(new Gson().toJson(Collections.singletonMap("ids", ids)))
+                .header("Authorization", "Bearer sometoken"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void givenEmptyIds_whenCompletingTodosInBatch_thenIsBadRequest() throws Exception {
+        //when ... then
+        mvc.perform(patch("/api/todos/batch/complete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": []}")
+                .header("Authorization", "Bearer sometoken"))
+                .andExpect(status().isBadRequest());
+    }
+
 }
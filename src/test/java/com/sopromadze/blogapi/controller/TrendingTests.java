@@ -0,0 +1,78 @@
+package com.sopromadze.blogapi.controller;
+
+import com.sopromadze.blogapi.model.Post;
+import com.sopromadze.blogapi.payload.CommentRequest;
+import com.sopromadze.blogapi.service.CommentService;
+import com.sopromadze.blogapi.service.TrendingService;
+import com.sopromadze.blogapi.service.ViewCountService;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class TrendingTests extends IntegrationTestSupport {
+    private static final String COMMENT = "{\"body\": \"A comment that is long enough\"}";
+
+    @Autowired
+    private ViewCountService viewCountService;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void commentsAndViewsRankTheTrendingPosts() throws Exception {
+        Post commented = savePost("Commented");
+        Post viewed = savePost("Viewed");
+
+        mvc.perform(post("/api/posts/{postId}/comments", commented.getId()).with(user(currentUser))
+                .contentType(MediaType.APPLICATION_JSON).content(COMMENT))
+                .andExpect(status().isCreated());
+        mvc.perform(post("/api/posts/{postId}/comments", commented.getId()).with(user(currentUser))
+                .contentType(MediaType.APPLICATION_JSON).content(COMMENT))
+                .andExpect(status().isCreated());
+        for (int i = 0; i < 3; i++) {
+            mvc.perform(get("/api/posts/{id}", viewed.getId())).andExpect(status().isOk());
+        }
+        viewCountService.flush();
+
+        List<Long> trending = trendingService.getTrendingPostIds(30);
+        assertTrue(trending.indexOf(viewed.getId()) >= 0);
+        assertTrue(trending.indexOf(commented.getId()) < trending.indexOf(viewed.getId()));
+        mvc.perform(get("/api/posts/trending"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItem(commented.getId().intValue())));
+    }
+
+    @Test
+    public void commentsOfARolledBackTransactionAreNotScored() {
+        Post post = savePost("Rolled back");
+        CommentRequest comment = new CommentRequest();
+        comment.setBody("A comment that is long enough");
+
+        new TransactionTemplate(transactionManager).execute(status -> {
+            commentService.addComment(comment, post.getId(), currentUser);
+            status.setRollbackOnly();
+            return null;
+        });
+
+        assertFalse(trendingService.getTrendingPostIds(30).contains(post.getId()));
+    }
+}
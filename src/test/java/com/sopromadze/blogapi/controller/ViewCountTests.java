@@ -0,0 +1,64 @@
+package com.sopromadze.blogapi.controller;
+
+import com.sopromadze.blogapi.model.Album;
+import com.sopromadze.blogapi.model.Photo;
+import com.sopromadze.blogapi.model.Post;
+import com.sopromadze.blogapi.repository.AlbumRepository;
+import com.sopromadze.blogapi.repository.PhotoRepository;
+import com.sopromadze.blogapi.service.ViewCountService;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class ViewCountTests extends IntegrationTestSupport {
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private PhotoRepository photoRepository;
+
+    @Autowired
+    private ViewCountService viewCountService;
+
+    @Test
+    public void viewsAreFlushedToTheDatabaseAndRankTheMostViewedPosts() throws Exception {
+        Post popular = savePost("Popular");
+        Post quiet = savePost("Quiet");
+        Album album = new Album();
+        album.setTitle("Viewed album " + owner.getUsername());
+        album.setUser(owner);
+        album = albumRepository.save(album);
+        Photo photo = photoRepository.save(new Photo("Viewed photo", "https://via.placeholder.com/600/92c952",
+                "https://via.placeholder.com/150/92c952", album));
+
+        for (int i = 0; i < 5; i++) {
+            mvc.perform(get("/api/posts/{id}", popular.getId())).andExpect(status().isOk());
+        }
+        mvc.perform(get("/api/posts/{id}", quiet.getId())).andExpect(status().isOk());
+        mvc.perform(get("/api/photos/{id}", photo.getId())).andExpect(status().isOk());
+        mvc.perform(get("/api/photos/{id}", photo.getId())).andExpect(status().isOk());
+        mvc.perform(get("/api/posts/{id}", 0L)).andExpect(status().isNotFound());
+
+        viewCountService.flush();
+
+        assertEquals(Long.valueOf(5), postRepository.findById(popular.getId()).get().getViews());
+        assertEquals(Long.valueOf(1), postRepository.findById(quiet.getId()).get().getViews());
+        mvc.perform(get("/api/photos/{id}", photo.getId())).andExpect(jsonPath("$.views", is(2)));
+
+        List<Long> mostViewed = viewCountService.getMostViewedPostIds(30);
+        assertTrue(mostViewed.indexOf(popular.getId()) >= 0);
+        assertTrue(mostViewed.indexOf(popular.getId()) < mostViewed.indexOf(quiet.getId()));
+        mvc.perform(get("/api/posts/mostViewed"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItem(popular.getId().intValue())));
+    }
+}
@@ -0,0 +1,123 @@
+package com.sopromadze.blogapi.repository;
+
+import com.sopromadze.blogapi.BlogApiApplication;
+import com.sopromadze.blogapi.model.Comment;
+import com.sopromadze.blogapi.model.Post;
+import com.sopromadze.blogapi.model.Tag;
+import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.security.UserPrincipal;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.sql.Connection;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Starts the application on a database that was created by the schema script of the last release, before
+ * Flyway: V1 is baselined without running, and every later migration has to apply to the rows already there.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = BlogApiApplication.class, properties = "spring.datasource.url=" + MigrationTests.URL)
+@ActiveProfiles("test")
+public class MigrationTests {
+    static final String URL = "jdbc:h2:mem:baseline;MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @BeforeClass
+    public static void createReleasedDatabase() throws Exception {
+        JdbcTemplate released = new JdbcTemplate(new DriverManagerDataSource(URL, "sa", ""));
+        try (Connection connection = released.getDataSource().getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/V1__create_schema.sql"));
+        }
+        released.update("INSERT INTO users (id, first_name, last_name, username, password, email) "
+                + "VALUES (1, 'Leanne', 'Graham', 'leanne', 'password', 'leanne.graham@gmail.com')");
+        released.update("INSERT INTO user_role (user_id, role_id) VALUES (1, 2)");
+        released.update("INSERT INTO categories (id, name, created_by, updated_by) VALUES (1, 'Released', 1, 1)");
+        released.update("INSERT INTO posts (id, title, body, user_id, category_id, created_by, updated_by) "
+                + "VALUES (1, 'First', 'Body', 1, 1, 1, 1), (2, 'Second', 'Body', 1, 1, 1, 1)");
+        released.update("INSERT INTO tags (id, name, created_by, updated_by) "
+                + "VALUES (1, 'Java', 1, 1), (2, ' java ', 1, 1), (3, 'spring', 1, 1)");
+        released.update("INSERT INTO post_tag (post_id, tag_id) VALUES (1, 1), (1, 2), (2, 3)");
+        released.update("INSERT INTO comments (id, name, email, body, post_id, user_id, created_by, updated_by) "
+                + "VALUES (1, 'leanne', 'leanne.graham@gmail.com', 'Comment', 1, 1, 1, 1)");
+    }
+
+    @Test
+    public void releasedDatabaseIsMigrated() {
+        assertEquals(Long.valueOf(0), jdbcTemplate.queryForObject("SELECT token_version FROM users WHERE id = 1", Long.class));
+        assertEquals(Arrays.asList("java", "spring"), jdbcTemplate.queryForList("SELECT name FROM tags ORDER BY id", String.class));
+        assertEquals(Arrays.asList(1L, 3L), jdbcTemplate.queryForList("SELECT tag_id FROM post_tag ORDER BY post_id", Long.class));
+
+        try {
+            jdbcTemplate.update("INSERT INTO tags (name, created_by, updated_by) VALUES ('spring', 1, 1)");
+            fail("Expected tag names to be unique");
+        } catch (DataIntegrityViolationException ex) {
+            // uk_tags_name
+        }
+    }
+
+    @Test
+    public void idsAreAllocatedAfterTheReleasedRows() {
+        User user = userRepository.findById(1L).get();
+        UserPrincipal principal = UserPrincipal.create(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        Post post = new Post();
+        post.setTitle("After the release");
+        post.setBody("Body");
+        post.setUser(user);
+        post.setCategory(categoryRepository.findById(1L).get());
+        post = postRepository.save(post);
+        Comment comment = new Comment("Comment after the release");
+        comment.setName(user.getUsername());
+        comment.setEmail(user.getEmail());
+        comment.setPost(post);
+        comment.setUser(user);
+        comment = commentRepository.save(comment);
+        Tag tag = tagRepository.save(new Tag("released"));
+
+        assertTrue(post.getId() > 2);
+        assertTrue(comment.getId() > 1);
+        assertTrue(tag.getId() > 3);
+    }
+
+    @After
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+}
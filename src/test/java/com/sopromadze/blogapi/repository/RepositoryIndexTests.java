@@ -0,0 +1,100 @@
+package com.sopromadze.blogapi.repository;
+
+import com.sopromadze.blogapi.BlogApiApplication;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the Flyway migrations against H2 in MySQL mode and checks that every repository query
+ * filters and sorts on the leading columns of an index.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = BlogApiApplication.class)
+@ActiveProfiles("test")
+public class RepositoryIndexTests {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void listingsAreCoveredByAnIndex() {
+        assertIndexed("posts", "created_at", "id");
+        assertIndexed("posts", "created_by", "created_at", "id");
+        assertIndexed("posts", "category_id", "created_at", "id");
+        assertIndexed("post_tag", "tag_id");
+        assertIndexed("comments", "post_id", "created_at");
+        assertIndexed("albums", "created_at");
+        assertIndexed("albums", "created_by", "created_at");
+        assertIndexed("photos", "created_at");
+        assertIndexed("photos", "album_id", "created_at");
+        assertIndexed("todos", "created_by", "created_at");
+        assertIndexed("categories", "created_at");
+        assertIndexed("tags", "created_at");
+    }
+
+    @Test
+    public void lookupsAreCoveredByAnIndex() {
+        assertIndexed("users", "username");
+        assertIndexed("users", "email");
+        assertIndexed("tags", "name");
+        assertIndexed("roles", "id");
+    }
+
+    @Test
+    public void filteredQueriesDoNotScanTheTable() {
+        assertNoTableScan("SELECT * FROM posts p WHERE p.created_by = 1 ORDER BY p.created_at DESC, p.id DESC");
+        assertNoTableScan("SELECT * FROM posts p WHERE p.category_id = 1 ORDER BY p.created_at DESC, p.id DESC");
+        assertNoTableScan("SELECT * FROM post_tag pt WHERE pt.tag_id = 1");
+        assertNoTableScan("SELECT * FROM comments c WHERE c.post_id = 1 ORDER BY c.created_at DESC");
+        assertNoTableScan("SELECT * FROM albums a WHERE a.created_by = 1 ORDER BY a.created_at DESC");
+        assertNoTableScan("SELECT * FROM photos p WHERE p.album_id = 1 ORDER BY p.created_at DESC");
+        assertNoTableScan("SELECT * FROM todos t WHERE t.created_by = 1 ORDER BY t.created_at DESC");
+        assertNoTableScan("SELECT * FROM users u WHERE u.username = 'user'");
+        assertNoTableScan("SELECT * FROM users u WHERE u.email = 'user@example.com'");
+        assertNoTableScan("SELECT * FROM tags t WHERE t.name IN ('java', 'spring')");
+    }
+
+    private void assertIndexed(String table, String... columns) {
+        List<String> expected = Arrays.asList(columns);
+        Collection<List<String>> indexes = indexesOf(table);
+
+        assertTrue(table + " has no index starting with " + expected + ", found " + indexes,
+                indexes.stream().anyMatch(index -> index.size() >= expected.size()
+                        && index.subList(0, expected.size()).equals(expected)));
+    }
+
+    private void assertNoTableScan(String sql) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+
+        assertFalse(plan, plan.contains(".tableScan"));
+    }
+
+    private Collection<List<String>> indexesOf(String table) {
+        return jdbcTemplate.execute((ConnectionCallback<Collection<List<String>>>) connection -> {
+            Map<String, List<String>> indexes = new TreeMap<>();
+            try (ResultSet rs = connection.getMetaData().getIndexInfo(null, null, table, false, false)) {
+                while (rs.next()) {
+                    indexes.computeIfAbsent(rs.getString("INDEX_NAME"), name -> new ArrayList<>())
+                            .add(rs.getShort("ORDINAL_POSITION") - 1, rs.getString("COLUMN_NAME").toLowerCase());
+                }
+            }
+            return indexes.values();
+        });
+    }
+}
@@ -0,0 +1,80 @@
+package com.sopromadze.blogapi.service.impl;
+
+import com.sopromadze.blogapi.model.Category;
+import com.sopromadze.blogapi.model.Post;
+import com.sopromadze.blogapi.model.Tag;
+import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.payload.PostRequest;
+import com.sopromadze.blogapi.payload.PostResponse;
+import com.sopromadze.blogapi.repository.CategoryRepository;
+import com.sopromadze.blogapi.repository.PostRepository;
+import com.sopromadze.blogapi.repository.TagRepository;
+import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.search.PostSearchIndex;
+import com.sopromadze.blogapi.security.UserPrincipal;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PostServiceImplTests {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private TagRepository tagRepository;
+
+    @Mock
+    private PostSearchIndex postSearchIndex;
+
+    @InjectMocks
+    private PostServiceImpl postService;
+
+    @Test
+    public void tagsMissingFromTheSnapshotAreReadAgainWithALock() {
+        User user = new User("Leanne", "Graham", "leanne", "leanne@gmail.com", "password");
+        user.setId(1L);
+        user.setRoles(Collections.emptyList());
+        Category category = new Category("category");
+        category.setId(2L);
+        Tag concurrent = new Tag("concurrent");
+        Tag existing = new Tag("existing");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(categoryRepository.findById(2L)).thenReturn(Optional.of(category));
+        when(postRepository.save(any(Post.class))).then(returnsFirstArg());
+        // Another post committed "concurrent" after this transaction took its snapshot
+        when(tagRepository.findByNameIn(Arrays.asList("concurrent", "existing")))
+                .thenReturn(Collections.singletonList(existing));
+        when(tagRepository.findLockedByNameIn(Collections.singletonList("concurrent")))
+                .thenReturn(Collections.singletonList(concurrent));
+
+        PostRequest postRequest = new PostRequest();
+        postRequest.setTitle("Tagged post");
+        postRequest.setBody("Tagged post body");
+        postRequest.setCategoryId(2L);
+        postRequest.setTags(Arrays.asList(" Concurrent", "existing"));
+        PostResponse response = postService.addPost(postRequest, UserPrincipal.create(user));
+
+        verify(tagRepository).insertIgnoringDuplicates(Collections.singletonList("concurrent"), 1L);
+        assertEquals(Arrays.asList("concurrent", "existing"), response.getTags());
+    }
+}
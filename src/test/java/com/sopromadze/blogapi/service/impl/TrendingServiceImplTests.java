@@ -0,0 +1,41 @@
+package com.sopromadze.blogapi.service.impl;
+
+import com.sopromadze.blogapi.service.TrendingService;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TrendingServiceImplTests {
+
+    @Test
+    public void scoresDecayAndFadeOut() {
+        // Halves on every decay
+        TrendingService trending = new TrendingServiceImpl(10, 1, 1000, 1000);
+        trending.recordComments(1L, 1);
+        Map<Long, Long> views = new HashMap<>();
+        views.put(2L, 4L);
+        views.put(3L, 15L);
+        trending.recordViews(views);
+        assertEquals(Arrays.asList(3L, 1L, 2L), trending.getTrendingPostIds(30));
+        assertEquals(Arrays.asList(3L, 1L), trending.getTrendingPostIds(2));
+
+        trending.decay();
+        trending.recordComments(1L, 1);
+        assertEquals(Arrays.asList(1L, 3L, 2L), trending.getTrendingPostIds(30));
+
+        trending.recordComments(1L, -2);
+        trending.removePost(3L);
+        assertEquals(Collections.singletonList(2L), trending.getTrendingPostIds(30));
+
+        for (int i = 0; i < 10; i++) {
+            trending.decay();
+        }
+        assertTrue(trending.getTrendingPostIds(30).isEmpty());
+    }
+}
@@ -0,0 +1,57 @@
+package com.sopromadze.blogapi.service.impl;
+
+import com.sopromadze.blogapi.repository.ViewCountRepository;
+import com.sopromadze.blogapi.service.TrendingService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ViewCountServiceImplTests {
+
+    @Mock
+    private ViewCountRepository repository;
+
+    @Mock
+    private TrendingService trending;
+
+    @InjectMocks
+    private ViewCountServiceImpl views = new ViewCountServiceImpl(100, 1000, 3600000);
+
+    @Test
+    public void viewsOfAFailedFlushAreRankedOnceTheyAreWritten() {
+        doThrow(new QueryTimeoutException("timeout")).when(repository).addViews(eq(ViewCountRepository.POSTS), anyMap());
+        views.recordPostView(1L);
+        views.recordPostView(1L);
+        views.flush();
+        assertTrue(views.getMostViewedPostIds(30).isEmpty());
+        verify(trending).recordViews(Collections.emptyMap());
+
+        doNothing().when(repository).addViews(eq(ViewCountRepository.POSTS), anyMap());
+        for (int i = 0; i < 3; i++) {
+            views.recordPostView(2L);
+        }
+        views.flush();
+        assertEquals(Arrays.asList(2L, 1L), views.getMostViewedPostIds(30));
+        Map<Long, Long> written = new HashMap<>();
+        written.put(1L, 2L);
+        written.put(2L, 3L);
+        verify(trending).recordViews(written);
+    }
+}
@@ -0,0 +1,35 @@
+package com.sopromadze.blogapi.utils;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ViewCounterTests {
+
+    @Test
+    public void viewCounterDrainsDeltasAndStaysWithinItsSize() {
+        ViewCounter counter = new ViewCounter(2);
+        counter.record(1L);
+        counter.record(1L);
+        counter.record(2L);
+        counter.record(3L);
+        assertEquals(1, counter.getDropped());
+
+        Map<Long, Long> first = counter.drain();
+        assertEquals(Long.valueOf(2), first.get(1L));
+        assertEquals(Long.valueOf(1), first.get(2L));
+
+        counter.record(1L);
+        counter.restore(Collections.singletonMap(2L, 1L));
+        Map<Long, Long> second = counter.drain();
+        assertEquals(Long.valueOf(1), second.get(1L));
+        assertEquals(Long.valueOf(1), second.get(2L));
+
+        assertTrue(counter.drain().isEmpty());
+        assertEquals(0, counter.size());
+    }
+}